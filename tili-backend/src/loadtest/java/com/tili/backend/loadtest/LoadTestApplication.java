@@ -0,0 +1,25 @@
+package com.tili.backend.loadtest;
+
+import com.tili.backend.TiliBackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Entry point of the {@code loadtest} Maven profile: starts the backend with the {@code loadtest}
+ * Spring profile, waits for {@link LoadTestDriver} to finish and exits with its status, so a failed
+ * run fails the build. Set {@code loadtest.exit-on-finish=false} to keep the server up afterwards.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws InterruptedException {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TiliBackendApplication.class)
+                .profiles("loadtest")
+                .run(args);
+        if (!context.getEnvironment().getProperty("loadtest.exit-on-finish", Boolean.class, true)) {
+            return;
+        }
+        context.getBean(LoadTestDriver.class).awaitFinish();
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,309 @@
+package com.tili.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tili.backend.entity.User;
+import com.tili.backend.repository.ProjectRepository;
+import com.tili.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives a weighted mix of HTTP traffic against the running app once it is ready, then writes
+ * per-endpoint throughput and latency percentiles to {@code loadtest.report}. Shutting down is left
+ * to {@link LoadTestApplication}, which waits on {@link #awaitFinish()} and exits with {@link #getExitCode()}.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestDriver implements ExitCodeGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestDriver.class);
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Value("${loadtest.concurrency:16}")
+    private int concurrency;
+    @Value("${loadtest.warmup-seconds:5}")
+    private int warmupSeconds;
+    @Value("${loadtest.duration-seconds:60}")
+    private int durationSeconds;
+    @Value("${loadtest.upload-size-kb:256}")
+    private int uploadSizeKb;
+    @Value("${loadtest.report:target/loadtest-report.json}")
+    private String reportPath;
+    @Value("${loadtest.password:loadtest}")
+    private String password;
+    // Relative weights of login, dashboard, projects, meetings, documents, upload
+    @Value("${loadtest.mix:10,30,20,15,20,5}")
+    private int[] mix;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile int exitCode;
+
+    private String baseUrl;
+    private List<String> userIds;
+    private List<String> userEmails;
+    private List<String> projectIds;
+    private byte[] uploadContent;
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port", "8080");
+        Thread driver = new Thread(() -> {
+            try {
+                runLoad();
+            } catch (Exception e) {
+                log.error("Load test failed", e);
+                exitCode = 1;
+            } finally {
+                finished.countDown();
+            }
+        }, "loadtest-driver");
+        driver.start();
+    }
+
+    public void awaitFinish() throws InterruptedException {
+        finished.await();
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    private void runLoad() throws Exception {
+        List<User> users = userRepository.findAll();
+        userIds = users.stream().map(User::getId).toList();
+        userEmails = users.stream().map(User::getEmail).toList();
+        projectIds = projectRepository.findAll().stream().map(p -> p.getId()).toList();
+        uploadContent = new byte[uploadSizeKb * 1024];
+        ThreadLocalRandom.current().nextBytes(uploadContent);
+
+        log.info("Warming up for {}s", warmupSeconds);
+        drive(warmupSeconds, false);
+        stats.clear();
+
+        log.info("Running load for {}s at concurrency {}", durationSeconds, concurrency);
+        Instant startedAt = Instant.now();
+        long elapsedNanos = drive(durationSeconds, true);
+        long errors = writeReport(startedAt, elapsedNanos);
+        if (errors > 0) {
+            log.error("{} requests failed during the load test", errors);
+            exitCode = 1;
+        }
+    }
+
+    private long drive(int seconds, boolean record) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            pool.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    step(record);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        return System.nanoTime() - start;
+    }
+
+    private void step(boolean record) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int total = Arrays.stream(mix).sum();
+        int pick = random.nextInt(total);
+        int index = 0;
+        while (pick >= mix[index]) {
+            pick -= mix[index++];
+        }
+
+        String name;
+        HttpRequest request;
+        switch (index) {
+            case 0 -> {
+                name = "POST /api/auth/login";
+                String email = userEmails.isEmpty() ? "" : userEmails.get(random.nextInt(userEmails.size()));
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                        .build();
+            }
+            case 1 -> {
+                name = "GET /api/dashboard/stats";
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/dashboard/stats")).GET().build();
+            }
+            case 2 -> {
+                name = "GET /api/projects";
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/projects")).GET().build();
+            }
+            case 3 -> {
+                name = "GET /api/meetings";
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/meetings")).GET().build();
+            }
+            case 4 -> {
+                name = "GET /api/documents";
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/documents")).GET().build();
+            }
+            default -> {
+                name = "POST /api/documents";
+                request = uploadRequest(random);
+            }
+        }
+
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() < 400;
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (record) {
+            stats.computeIfAbsent(name, k -> new EndpointStats()).record(System.nanoTime() - start, ok);
+        }
+    }
+
+    private HttpRequest uploadRequest(ThreadLocalRandom random) {
+        String boundary = "----loadtest" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(uploadContent.length + 1024);
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("title", "Load upload");
+        fields.put("type", "RAPPORT");
+        fields.put("userId", userIds.isEmpty() ? "" : userIds.get(random.nextInt(userIds.size())));
+        if (!projectIds.isEmpty()) {
+            fields.put("projectId", projectIds.get(random.nextInt(projectIds.size())));
+        }
+        fields.forEach((key, value) -> body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + key + "\"\r\n\r\n"
+                + value + "\r\n").getBytes(StandardCharsets.UTF_8)));
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"load.bin\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(uploadContent);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/documents"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    /** Writes the JSON report and returns the number of failed requests. */
+    private long writeReport(Instant startedAt, long elapsedNanos) throws IOException {
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (String name : stats.keySet().stream().sorted().toList()) {
+            EndpointStats endpoint = stats.get(name);
+            long[] latencies = endpoint.sortedLatencies();
+            totalRequests += latencies.length;
+            totalErrors += endpoint.errors();
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("requests", latencies.length);
+            entry.put("errors", endpoint.errors());
+            entry.put("throughputPerSecond", round(latencies.length / elapsedSeconds));
+            entry.put("p50Ms", round(percentile(latencies, 0.50) / 1_000_000.0));
+            entry.put("p99Ms", round(percentile(latencies, 0.99) / 1_000_000.0));
+            entry.put("maxMs", round((latencies.length == 0 ? 0 : latencies[latencies.length - 1]) / 1_000_000.0));
+            endpoints.put(name, entry);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("durationSeconds", round(elapsedSeconds));
+        report.put("concurrency", concurrency);
+        report.put("totalRequests", totalRequests);
+        report.put("totalErrors", totalErrors);
+        report.put("throughputPerSecond", round(totalRequests / elapsedSeconds));
+        report.put("endpoints", endpoints);
+
+        Path path = Paths.get(reportPath).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+        log.info("Load test report written to {}", path);
+        return totalErrors;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static class EndpointStats {
+        private final List<Long> latencies = new ArrayList<>();
+        private long errors;
+
+        synchronized void record(long nanos, boolean ok) {
+            latencies.add(nanos);
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        synchronized long[] sortedLatencies() {
+            long[] values = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(values);
+            return values;
+        }
+    }
+}
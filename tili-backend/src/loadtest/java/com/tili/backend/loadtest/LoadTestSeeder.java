@@ -0,0 +1,151 @@
+package com.tili.backend.loadtest;
+
+import com.tili.backend.entity.Document;
+import com.tili.backend.entity.Meeting;
+import com.tili.backend.entity.Project;
+import com.tili.backend.entity.User;
+import com.tili.backend.enums.DocumentType;
+import com.tili.backend.enums.ProjectStatus;
+import com.tili.backend.enums.UserRole;
+import com.tili.backend.repository.DocumentRepository;
+import com.tili.backend.repository.MeetingRepository;
+import com.tili.backend.repository.ProjectRepository;
+import com.tili.backend.repository.UserRepository;
+import com.tili.backend.service.ProjectStatsService;
+import com.tili.backend.storage.DocumentStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Fills the embedded database with a synthetic dataset before the load driver starts.
+ * Seeded users all share the password configured in {@code loadtest.password}.
+ */
+@Component
+@Profile("loadtest")
+@Order(1)
+public class LoadTestSeeder implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestSeeder.class);
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private MeetingRepository meetingRepository;
+    @Autowired
+    private DocumentRepository documentRepository;
+    @Autowired
+    private DocumentStorage documentStorage;
+    @Autowired
+    private ProjectStatsService projectStatsService;
+
+    @Value("${loadtest.seed.users:50}")
+    private int userCount;
+    @Value("${loadtest.seed.projects:200}")
+    private int projectCount;
+    @Value("${loadtest.seed.meetings:500}")
+    private int meetingCount;
+    @Value("${loadtest.seed.documents:1000}")
+    private int documentCount;
+    @Value("${loadtest.seed.document-size-kb:64}")
+    private int documentSizeKb;
+    @Value("${loadtest.seed.random-seed:42}")
+    private long randomSeed;
+    @Value("${loadtest.password:loadtest}")
+    private String password;
+
+    @Override
+    public void run(String... args) throws IOException {
+        long start = System.currentTimeMillis();
+        Random random = new Random(randomSeed);
+        UserRole[] roles = UserRole.values();
+        DocumentType[] types = DocumentType.values();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            User user = new User();
+            user.setName("Load User " + i);
+            user.setEmail(userEmail(i));
+            user.setPassword(password);
+            user.setRole(roles[i % roles.length]);
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < projectCount; i++) {
+            Project project = new Project();
+            project.setName("Project " + i);
+            LocalDate startDate = LocalDate.now().minusDays(random.nextInt(1000));
+            project.setStartDate(startDate);
+            project.setEndDate(startDate.plusDays(30 + random.nextInt(300)));
+            project.setStatut(random.nextInt(4) == 0 ? ProjectStatus.CLOTURE : ProjectStatus.ACTIVE);
+            project.setMembers(pickUsers(users, random, 2 + random.nextInt(6)));
+            projects.add(project);
+        }
+        projects = projectRepository.saveAll(projects);
+
+        List<Meeting> meetings = new ArrayList<>();
+        for (int i = 0; i < meetingCount; i++) {
+            Meeting meeting = new Meeting();
+            meeting.setSujet("Meeting " + i);
+            meeting.setDate(LocalDateTime.now().plusHours(random.nextInt(24 * 120) - 24 * 60));
+            meeting.setLocation(random.nextBoolean() ? "Room " + random.nextInt(10) : "https://meet.example.org/" + i);
+            meeting.setCompteRenduSummary("");
+            meeting.setProject(projects.isEmpty() ? null : projects.get(random.nextInt(projects.size())));
+            meeting.setParticipants(pickUsers(users, random, 2 + random.nextInt(8)));
+            meetings.add(meeting);
+        }
+        meetingRepository.saveAll(meetings);
+
+        byte[] content = new byte[documentSizeKb * 1024];
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < documentCount; i++) {
+            random.nextBytes(content);
+            String filePath = documentStorage.store("loadtest-" + i + ".bin", new ByteArrayInputStream(content));
+
+            Document doc = new Document();
+            doc.setTitre("Document " + i);
+            doc.setDocumentType(types[random.nextInt(types.length)]);
+            doc.setFilePath(filePath);
+            doc.setCreatedAt(LocalDateTime.now().minusMinutes(random.nextInt(60 * 24 * 365)));
+            doc.setUploadedBy(users.isEmpty() ? null : users.get(random.nextInt(users.size())));
+            doc.setProject(projects.isEmpty() ? null : projects.get(random.nextInt(projects.size())));
+            documents.add(doc);
+        }
+        documentRepository.saveAll(documents);
+        projectStatsService.rebuild();
+
+        log.info("Seeded {} users, {} projects, {} meetings, {} documents in {} ms",
+                userCount, projectCount, meetingCount, documentCount, System.currentTimeMillis() - start);
+    }
+
+    static String userEmail(int index) {
+        return "load" + index + "@tili.org";
+    }
+
+    private Set<User> pickUsers(List<User> users, Random random, int count) {
+        Set<User> picked = new HashSet<>();
+        for (int i = 0; i < count && !users.isEmpty(); i++) {
+            picked.add(users.get(random.nextInt(users.size())));
+        }
+        return picked;
+    }
+}
@@ -1,9 +1,12 @@
 package com.tili.backend;
 
+import com.tili.backend.config.TiliRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(TiliRuntimeHints.class)
 public class TiliBackendApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,82 @@
+package com.tili.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Only active when {@code tili.datasource.replica.url} is set; otherwise the single
+ * auto-configured datasource is used for everything.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tili.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("tili.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${tili.datasource.replica.url}") String url,
+            @Value("${tili.datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${tili.datasource.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setReadOnly(true);
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    // A window shorter than the tolerated lag would send a client back to a replica that may not
+    // have its write yet, so the window defaults to the lag limit and may not be set below it
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${tili.datasource.replica.read-your-writes-ms:-1}") long windowMs,
+            @Value("${tili.datasource.replica.max-lag-seconds:10}") long maxLagSeconds) {
+        long maxLagMs = maxLagSeconds * 1000;
+        if (windowMs < 0) {
+            windowMs = maxLagMs;
+        }
+        if (windowMs < maxLagMs) {
+            throw new IllegalStateException("tili.datasource.replica.read-your-writes-ms (" + windowMs
+                    + ") must be at least tili.datasource.replica.max-lag-seconds (" + maxLagSeconds + " s)");
+        }
+        return new ReadYourWritesTracker(windowMs);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadYourWritesTracker tracker) {
+        return new ReadYourWritesFilter(tracker);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReadYourWritesTracker tracker,
+            @Value("${tili.datasource.replica.max-lag-seconds:10}") long maxLagSeconds,
+            @Value("${tili.datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery) {
+        return new ReplicaRoutingDataSource(primary, replica, tracker, maxLagSeconds, lagQuery);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
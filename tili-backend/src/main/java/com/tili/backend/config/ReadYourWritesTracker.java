@@ -0,0 +1,74 @@
+package com.tili.backend.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each client last wrote, so its reads can stay on the primary until the
+ * replica has had time to catch up. The client key is bound per request by {@link ReadYourWritesFilter}.
+ */
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<String> currentClient = new ThreadLocal<>();
+    // Bound for the rest of a transaction once its commit hook is registered
+    private static final Object COMMIT_HOOK_KEY = new Object();
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowMs;
+
+    public ReadYourWritesTracker(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    public void bind(String client) {
+        currentClient.set(client);
+    }
+
+    public void unbind() {
+        currentClient.remove();
+    }
+
+    /**
+     * Records a write for the current client once the surrounding transaction commits. Stamping at
+     * commit rather than at connection time starts the window when the data actually reaches the
+     * replication stream, and a rolled-back transaction does not pin the client to the primary.
+     */
+    public void recordWriteOnCommit() {
+        String client = currentClient.get();
+        if (client == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(COMMIT_HOOK_KEY)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(COMMIT_HOOK_KEY, client);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWrites.put(client, System.currentTimeMillis());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(COMMIT_HOOK_KEY);
+            }
+        });
+    }
+
+    public boolean hasRecentWrite() {
+        String client = currentClient.get();
+        if (client == null) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(client);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < windowMs;
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - windowMs;
+        lastWrites.values().removeIf(lastWrite -> lastWrite < cutoff);
+    }
+}
@@ -0,0 +1,104 @@
+package com.tili.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. Reads fall back
+ * to the primary while the replica is unhealthy or lagging, and for a client that has just written.
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the read-only flag is known when routing.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final DataSource replica;
+    private final ReadYourWritesTracker tracker;
+    private final long maxLagSeconds;
+    private final String lagQuery;
+
+    private volatile boolean replicaAvailable = true;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker tracker,
+            long maxLagSeconds, String lagQuery) {
+        this.replica = replica;
+        this.tracker = tracker;
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                tracker.recordWriteOnCommit();
+            }
+            return Route.PRIMARY;
+        }
+        if (!replicaAvailable || tracker.hasRecentWrite()) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    @Scheduled(fixedDelayString = "${tili.datasource.replica.health-check-ms:5000}")
+    public void checkReplica() {
+        boolean available;
+        try (Connection connection = replica.getConnection()) {
+            available = connection.isValid(2) && lagWithinLimit(connection);
+        } catch (SQLException e) {
+            available = false;
+        }
+        if (available != replicaAvailable) {
+            log.warn("Read replica is now {}", available ? "in use" : "bypassed, reads go to the primary");
+        }
+        replicaAvailable = available;
+    }
+
+    private boolean lagWithinLimit(Connection connection) throws SQLException {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return true;
+        }
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                // Not configured as a replica (e.g. two independent local instances)
+                return true;
+            }
+            ResultSetMetaData meta = rs.getMetaData();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                String column = meta.getColumnLabel(i);
+                if ("Seconds_Behind_Source".equalsIgnoreCase(column)
+                        || "Seconds_Behind_Master".equalsIgnoreCase(column)) {
+                    long lag = rs.getLong(i);
+                    // NULL means replication is stopped
+                    return !rs.wasNull() && lag <= maxLagSeconds;
+                }
+            }
+            return true;
+        }
+    }
+}
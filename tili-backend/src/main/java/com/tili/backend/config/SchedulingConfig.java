@@ -0,0 +1,13 @@
+package com.tili.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on the @Scheduled jobs. Kept off the application class so JPA slice tests, which reuse that
+ * class's annotations but skip this one, do not run real jobs against their database mid-test.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,70 @@
+package com.tili.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Logs the time from process start until the first request has been served, and the resident
+ * set size at that point, so the startup modes (JVM, AOT, CDS, native) can be compared.
+ */
+@Component
+public class StartupMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupMetricsFilter.class);
+
+    private final AtomicBoolean reported = new AtomicBoolean();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(request, response);
+        if (!reported.get() && reported.compareAndSet(false, true)) {
+            long millis = ProcessHandle.current().info().startInstant()
+                    .map(start -> Duration.between(start, Instant.now()).toMillis())
+                    .orElse(-1L);
+            log.info("Startup metrics: mode={}, time-to-first-request={} ms, rss={}",
+                    startupMode(), millis, residentSetSize());
+        }
+    }
+
+    private String startupMode() {
+        if (System.getProperty("org.graalvm.nativeimage.imagecode") != null) {
+            return "native";
+        }
+        List<String> jvmArgs = ManagementFactory.getRuntimeMXBean().getInputArguments();
+        boolean cds = jvmArgs.stream().anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile"));
+        boolean aot = Boolean.getBoolean("spring.aot.enabled");
+        return aot && cds ? "aot+cds" : aot ? "aot" : cds ? "cds" : "jvm";
+    }
+
+    private String residentSetSize() {
+        // Linux only; elsewhere the value is simply not reported
+        Path status = Paths.get("/proc/self/status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return line.substring("VmRSS:".length()).trim();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // fall through
+        }
+        return "n/a";
+    }
+}
@@ -0,0 +1,41 @@
+package com.tili.backend.config;
+
+import com.tili.backend.dto.CompteRenduDTO;
+import com.tili.backend.dto.CreateUserDTO;
+import com.tili.backend.dto.DashboardDTO;
+import com.tili.backend.dto.DocumentDTO;
+import com.tili.backend.dto.LoginRequest;
+import com.tili.backend.dto.MeetingDTO;
+import com.tili.backend.dto.NotificationDTO;
+import com.tili.backend.dto.ProjectDTO;
+import com.tili.backend.dto.ReconciliationReportDTO;
+import com.tili.backend.dto.RecentActivityDTO;
+import com.tili.backend.dto.UploadSessionDTO;
+import com.tili.backend.dto.UserDTO;
+import com.tili.backend.enums.DocumentType;
+import com.tili.backend.enums.ProjectStatus;
+import com.tili.backend.enums.UserRole;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection hints for the native image. Spring AOT detects entities and the DTOs in controller
+ * signatures, but not DTOs serialized by hand (SSE events), so every DTO is listed here; a test
+ * keeps the list complete. Also covers the enums bound from request parameters. Lombok runs at
+ * compile time, so its accessors need nothing extra.
+ */
+public class TiliRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                CompteRenduDTO.class, CreateUserDTO.class, DashboardDTO.class, DocumentDTO.class,
+                LoginRequest.class, MeetingDTO.class, NotificationDTO.class, ProjectDTO.class,
+                ReconciliationReportDTO.class, RecentActivityDTO.class, UploadSessionDTO.class, UserDTO.class);
+        for (Class<?> type : new Class<?>[] { DocumentType.class, ProjectStatus.class, UserRole.class }) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.tili.backend.controller;
+
+import com.tili.backend.dto.CompteRenduDTO;
+import com.tili.backend.service.CompteRenduService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/comptes-rendus")
+@CrossOrigin("*")
+public class CompteRenduController {
+
+    @Autowired
+    private CompteRenduService compteRenduService;
+
+    @PostMapping
+    public ResponseEntity<CompteRenduDTO> createCompteRendu(@RequestBody CompteRenduDTO dto) {
+        return ResponseEntity.ok(compteRenduService.createCompteRendu(dto));
+    }
+
+    @GetMapping
+    public ResponseEntity<Page<CompteRenduDTO>> getCompteRendusByMeeting(
+            @RequestParam("meetingId") String meetingId,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(compteRenduService.getCompteRendusByMeeting(meetingId, page, size));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CompteRenduDTO> getCompteRendu(@PathVariable String id) {
+        return ResponseEntity.ok(compteRenduService.getCompteRenduById(id));
+    }
+}
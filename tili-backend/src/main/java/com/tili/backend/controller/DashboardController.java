@@ -1,10 +1,13 @@
 package com.tili.backend.controller;
 
 import com.tili.backend.dto.DashboardDTO;
+import com.tili.backend.event.DashboardBroadcaster;
 import com.tili.backend.service.DashboardService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -14,8 +17,16 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private DashboardBroadcaster dashboardBroadcaster;
+
     @GetMapping("/stats")
     public ResponseEntity<DashboardDTO> getStats() {
         return ResponseEntity.ok(dashboardService.getStats());
     }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return dashboardBroadcaster.subscribe();
+    }
 }
@@ -1,15 +1,26 @@
 package com.tili.backend.controller;
 
 import com.tili.backend.dto.DocumentDTO;
+import com.tili.backend.entity.Document;
 import com.tili.backend.enums.DocumentType;
+import com.tili.backend.service.DocumentPreviewService;
 import com.tili.backend.service.DocumentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/documents")
@@ -19,6 +30,9 @@ public class DocumentController {
     @Autowired
     private DocumentService documentService;
 
+    @Autowired
+    private DocumentPreviewService documentPreviewService;
+
     @PostMapping(consumes = { "multipart/form-data" })
     public ResponseEntity<DocumentDTO> uploadDocument(
             @RequestParam("title") String title,
@@ -33,4 +47,39 @@ public class DocumentController {
     public ResponseEntity<List<DocumentDTO>> getAllDocuments() {
         return ResponseEntity.ok(documentService.getAllDocuments());
     }
+
+    @GetMapping("/{id}/file")
+    public ResponseEntity<StreamingResponseBody> downloadDocument(@PathVariable String id) {
+        String fileName = documentService.getDocumentFileName(id);
+        StreamingResponseBody body = out -> documentService.writeDocument(id, out);
+        return ResponseEntity.ok()
+                .contentType(MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName, StandardCharsets.UTF_8).build().toString())
+                .body(body);
+    }
+
+    @GetMapping("/{id}/preview")
+    public ResponseEntity<byte[]> getPreview(@PathVariable String id,
+            @RequestParam(value = "width", defaultValue = "256") int width,
+            WebRequest request) {
+        // Only a few sizes are allowed so the cache is not filled with near-duplicates
+        int size = width <= 128 ? 128 : width <= 256 ? 256 : 512;
+        // Unknown or deleted documents must not get a 304 from a stale client ETag
+        Document document = documentPreviewService.findDocument(id).orElse(null);
+        if (document == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = "\"" + documentPreviewService.previewKey(document, size) + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return documentPreviewService.getPreview(document, size)
+                .map(bytes -> ResponseEntity.ok()
+                        .contentType(MediaType.IMAGE_JPEG)
+                        .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                        .eTag(etag)
+                        .body(bytes))
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
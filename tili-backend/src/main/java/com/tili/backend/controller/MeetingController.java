@@ -21,8 +21,18 @@ public class MeetingController {
         return ResponseEntity.ok(meetingService.createMeeting(dto));
     }
 
+    @PutMapping("/{id}")
+    public ResponseEntity<MeetingDTO> updateMeeting(@PathVariable String id, @RequestBody MeetingDTO dto) {
+        return ResponseEntity.ok(meetingService.updateMeeting(id, dto));
+    }
+
     @GetMapping
     public ResponseEntity<List<MeetingDTO>> getAllMeetings() {
         return ResponseEntity.ok(meetingService.getAllMeetings());
     }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<MeetingDTO>> getMeetingsForUser(@PathVariable String userId) {
+        return ResponseEntity.ok(meetingService.getMeetingsForUser(userId));
+    }
 }
@@ -0,0 +1,41 @@
+package com.tili.backend.controller;
+
+import com.tili.backend.dto.NotificationDTO;
+import com.tili.backend.service.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications")
+@CrossOrigin("*")
+public class NotificationController {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<NotificationDTO>> getFeed(@PathVariable String userId,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return ResponseEntity.ok(notificationService.getFeed(userId, limit));
+    }
+
+    @GetMapping("/user/{userId}/unread-count")
+    public ResponseEntity<Map<String, Long>> countUnread(@PathVariable String userId) {
+        return ResponseEntity.ok(Map.of("unread", notificationService.countUnread(userId)));
+    }
+
+    @PostMapping("/{id}/read")
+    public ResponseEntity<Void> markRead(@PathVariable String id) {
+        notificationService.markRead(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/user/{userId}/read")
+    public ResponseEntity<Map<String, Integer>> markAllRead(@PathVariable String userId) {
+        return ResponseEntity.ok(Map.of("updated", notificationService.markAllRead(userId)));
+    }
+}
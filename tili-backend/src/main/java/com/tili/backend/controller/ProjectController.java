@@ -1,11 +1,17 @@
 package com.tili.backend.controller;
 
 import com.tili.backend.dto.ProjectDTO;
+import com.tili.backend.service.DocumentService;
 import com.tili.backend.service.ProjectService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -16,6 +22,9 @@ public class ProjectController {
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private DocumentService documentService;
+
     @PostMapping
     public ResponseEntity<ProjectDTO> createProject(@RequestBody ProjectDTO dto) {
         return ResponseEntity.ok(projectService.createProject(dto));
@@ -26,8 +35,25 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.getAllProjects());
     }
 
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<ProjectDTO>> getProjectsForUser(@PathVariable String userId) {
+        return ResponseEntity.ok(projectService.getProjectsForUser(userId));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProjectDTO> getProject(@PathVariable String id) {
         return ResponseEntity.ok(projectService.getProjectById(id));
     }
+
+    @GetMapping("/{id}/documents.zip")
+    public ResponseEntity<StreamingResponseBody> downloadDocuments(@PathVariable String id) {
+        ProjectDTO project = projectService.getProjectById(id);
+        StreamingResponseBody body = out -> documentService.writeProjectArchive(id, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename((project.getTitle() != null ? project.getTitle() : id) + ".zip", StandardCharsets.UTF_8)
+                        .build().toString())
+                .body(body);
+    }
 }
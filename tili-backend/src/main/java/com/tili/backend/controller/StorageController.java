@@ -0,0 +1,29 @@
+package com.tili.backend.controller;
+
+import com.tili.backend.dto.ReconciliationReportDTO;
+import com.tili.backend.service.OrphanFileReconciler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/storage")
+@CrossOrigin("*")
+public class StorageController {
+
+    @Autowired
+    private OrphanFileReconciler orphanFileReconciler;
+
+    @GetMapping("/reconciliation")
+    public ResponseEntity<ReconciliationReportDTO> getLastReconciliation() {
+        ReconciliationReportDTO report = orphanFileReconciler.getLastReport();
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.noContent().build();
+    }
+
+    // Runs in the background like the nightly job; GET returns the report once it is done
+    @PostMapping("/reconciliation")
+    public ResponseEntity<Void> reconcile() {
+        orphanFileReconciler.submit();
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.tili.backend.controller;
+
+import com.tili.backend.dto.DocumentDTO;
+import com.tili.backend.dto.UploadSessionDTO;
+import com.tili.backend.service.ChunkedUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/uploads")
+@CrossOrigin("*")
+public class UploadController {
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    @PostMapping
+    public ResponseEntity<UploadSessionDTO> createSession(@RequestBody UploadSessionDTO dto) throws IOException {
+        return ResponseEntity.ok(chunkedUploadService.createSession(dto));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<UploadSessionDTO> getSession(@PathVariable String id) {
+        return ResponseEntity.ok(chunkedUploadService.getSession(id));
+    }
+
+    // The raw request stream is written to disk as it arrives, never buffered whole in memory
+    @PutMapping(value = "/{id}/chunks", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadSessionDTO> uploadChunk(@PathVariable String id,
+            @RequestParam("offset") long offset,
+            HttpServletRequest request) throws IOException {
+        try (InputStream body = request.getInputStream()) {
+            return ResponseEntity.ok(chunkedUploadService.writeChunk(id, offset, body));
+        }
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<DocumentDTO> complete(@PathVariable String id) throws IOException {
+        return ResponseEntity.ok(chunkedUploadService.complete(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> abort(@PathVariable String id) throws IOException {
+        chunkedUploadService.abort(id);
+        return ResponseEntity.noContent().build();
+    }
+}
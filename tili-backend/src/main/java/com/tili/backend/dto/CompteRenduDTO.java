@@ -0,0 +1,14 @@
+package com.tili.backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class CompteRenduDTO {
+    private String id;
+    private String meetingId;
+    private String content; // only filled on detail fetch
+    private Integer contentLength;
+    private LocalDate createAt;
+}
@@ -13,6 +13,7 @@ public class MeetingDTO {
     private String title; // sujet -> title
     private String location;
     private java.util.List<String> participants;
+    private java.util.List<String> participantIds;
     private boolean isOnline;
     private String projectId;
     private String projectName;
@@ -0,0 +1,15 @@
+package com.tili.backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class NotificationDTO {
+    private String id;
+    private String userId;
+    private String meetingId;
+    private String message;
+    private LocalDateTime createdAt;
+    private boolean read;
+}
@@ -2,6 +2,8 @@ package com.tili.backend.dto;
 
 import lombok.Data;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 public class ProjectDTO {
@@ -11,7 +13,13 @@ public class ProjectDTO {
     private String status; // statut -> status (String)
     private int progress;
     private java.util.List<String> team;
+    private java.util.List<String> memberIds;
     private String deadline; // formatted date
     private LocalDate startDate;
     private LocalDate endDate;
+    private long documentCount;
+    private Map<String, Long> documentsByType;
+    private long meetingsHeld;
+    private long meetingsUpcoming;
+    private LocalDateTime lastActivityAt;
 }
@@ -0,0 +1,24 @@
+package com.tili.backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ReconciliationReportDTO {
+    private LocalDateTime startedAt;
+    private long durationMs;
+    private long scannedFiles;
+    private long scannedRows;
+    private long matchedRows;
+    private long orphanFiles;
+    private long deletedFiles;
+    private long reclaimedBytes;
+    private long skippedRecentFiles; // orphans still inside the grace period
+    private long danglingRows;
+    private List<String> danglingDocumentIds = new ArrayList<>(); // capped sample
+    private boolean aborted; // too few rows matched a file, so nothing was deleted
+    private String abortReason;
+}
@@ -0,0 +1,24 @@
+package com.tili.backend.dto;
+
+import com.tili.backend.enums.DocumentType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class UploadSessionDTO {
+    private String id;
+    private String fileName;
+    private String title;
+    private DocumentType type;
+    private String userId;
+    private String projectId;
+    private long totalSize;
+    private Integer chunkSize; // optional on create, server picks a default
+    private long receivedOffset; // bytes received without gaps from the start
+    private int totalChunks;
+    private int receivedChunks;
+    private List<Integer> missingChunks; // first missing chunk indexes, capped
+    private LocalDateTime expiresAt;
+}
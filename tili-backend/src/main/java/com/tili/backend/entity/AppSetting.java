@@ -0,0 +1,25 @@
+package com.tili.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A named value shared by every instance of the backend, such as a job's progress watermark.
+ * Jobs lock their row to coordinate across instances.
+ */
+@Entity
+@Table(name = "app_setting")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppSetting {
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "settingValue")
+    private String value;
+}
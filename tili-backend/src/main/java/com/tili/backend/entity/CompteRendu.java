@@ -3,7 +3,9 @@ package com.tili.backend.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -19,14 +21,27 @@ public class CompteRendu {
     @Column(name = "id")
     private String id;
 
+    // Legacy plain-text column; new minutes are stored gzipped in contentGz
     @Column(name = "content", length = 5000)
     private String content;
 
+    @Lob
+    @Column(name = "contentGz", columnDefinition = "LONGBLOB")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private byte[] compressedContent;
+
+    // Uncompressed length in characters, so list views never have to read the content
+    @Column(name = "contentLength")
+    private Integer contentLength;
+
     @Column(name = "createAt")
     private LocalDate createAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "idMeeting")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Meeting meeting;
 
     @PrePersist
@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "document")
+@Table(name = "document", indexes = @Index(name = "idx_document_filePath", columnList = "filePath"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,12 +23,17 @@ public class Document {
     @Column(name = "titre")
     private String titre;
 
-    @Column(name = "filePath")
+    // Absolute path including root, tier, shard and UUID prefix; see FileSystemDocumentStorage
+    @Column(name = "filePath", length = 512)
     private String filePath;
 
     @Column(name = "ceatedAt") // Matches typo in DB
     private LocalDateTime createdAt;
 
+    // Only refreshed once a day at most; drives moving the file to cold storage
+    @Column(name = "lastAccessedAt")
+    private LocalDateTime lastAccessedAt;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "documentType")
     private DocumentType documentType;
@@ -3,13 +3,20 @@ package com.tili.backend.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "meeting")
+@Table(name = "meeting", indexes = @Index(name = "idx_meeting_date", columnList = "date"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -37,8 +44,20 @@ public class Meeting {
     @JoinColumn(name = "idProjet", nullable = true) // Nullable if meeting not linked to project
     private Project project;
 
-    // @OneToMany(mappedBy = "meeting", cascade = CascadeType.ALL)
-    // private List<CompteRendu> detailedReports;
+    @ManyToMany
+    @JoinTable(name = "meeting_participant",
+            joinColumns = @JoinColumn(name = "idMeeting"),
+            inverseJoinColumns = @JoinColumn(name = "idUser"),
+            indexes = @Index(name = "idx_meeting_participant_user", columnList = "idUser"))
+    @BatchSize(size = 100)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<User> participants = new HashSet<>();
+
+    @OneToMany(mappedBy = "meeting", cascade = CascadeType.ALL)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<CompteRendu> detailedReports = new ArrayList<>();
 
     @PrePersist
     public void ensureId() {
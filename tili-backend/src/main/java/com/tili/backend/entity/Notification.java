@@ -0,0 +1,47 @@
+package com.tili.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** An entry in a user's in-app notification feed. */
+@Entity
+@Table(name = "notification", indexes = @Index(name = "idx_notification_user_created", columnList = "idUser, createdAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Notification {
+
+    @Id
+    @Column(name = "id")
+    private String id;
+
+    @Column(name = "idUser")
+    private String userId;
+
+    @Column(name = "idMeeting")
+    private String meetingId;
+
+    @Column(name = "message", length = 1000)
+    private String message;
+
+    @Column(name = "createdAt")
+    private LocalDateTime createdAt;
+
+    @Column(name = "readAt")
+    private LocalDateTime readAt;
+
+    @PrePersist
+    public void ensureId() {
+        if (this.id == null) {
+            this.id = UUID.randomUUID().toString();
+        }
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -4,8 +4,14 @@ import com.tili.backend.enums.ProjectStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 @Entity
@@ -13,6 +19,7 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@BatchSize(size = 100)
 public class Project {
 
     @Id
@@ -32,6 +39,17 @@ public class Project {
     @Column(name = "statut")
     private ProjectStatus statut;
 
+    // Loaded in batches so mapping a list of projects costs one query for all teams
+    @ManyToMany
+    @JoinTable(name = "project_member",
+            joinColumns = @JoinColumn(name = "idProjet"),
+            inverseJoinColumns = @JoinColumn(name = "idUser"),
+            indexes = @Index(name = "idx_project_member_user", columnList = "idUser"))
+    @BatchSize(size = 100)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<User> members = new HashSet<>();
+
     @PrePersist
     public void ensureId() {
         if (this.id == null) {
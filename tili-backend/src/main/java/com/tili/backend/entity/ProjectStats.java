@@ -0,0 +1,87 @@
+package com.tili.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-project counters, kept up to date by the write paths and rebuilt nightly to correct drift.
+ */
+@Entity
+@Table(name = "project_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectStats implements Persistable<String> {
+
+    @Id
+    @Column(name = "idProjet")
+    private String projectId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "idProjet")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Project project;
+
+    @Column(name = "rapportCount")
+    private long rapportCount;
+
+    @Column(name = "compteRenduCount")
+    private long compteRenduCount;
+
+    @Column(name = "administratifCount")
+    private long administratifCount;
+
+    @Column(name = "projetCount")
+    private long projetCount;
+
+    @Column(name = "meetingsHeld")
+    private long meetingsHeld;
+
+    @Column(name = "meetingsUpcoming")
+    private long meetingsUpcoming;
+
+    @Column(name = "lastActivityAt")
+    private LocalDateTime lastActivityAt;
+
+    // The id is assigned, so Spring Data cannot tell a new row from a detached one; merging a new
+    // row with a @MapsId association fails, so new ones must be persisted
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean newRow = true;
+
+    public ProjectStats(Project project) {
+        this.project = project;
+        this.projectId = project.getId();
+    }
+
+    @Override
+    public String getId() {
+        return projectId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        newRow = false;
+    }
+}
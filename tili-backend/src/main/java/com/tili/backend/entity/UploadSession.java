@@ -0,0 +1,74 @@
+package com.tili.backend.entity;
+
+import com.tili.backend.enums.DocumentType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A resumable upload in progress. The file is split into fixed-size chunks; receivedChunks is a
+ * bitmap (BitSet bytes) of the chunks already written to the preallocated part file.
+ */
+@Entity
+@Table(name = "upload_session", indexes = @Index(name = "idx_upload_session_expires", columnList = "expiresAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+
+    @Id
+    @Column(name = "id")
+    private String id;
+
+    @Column(name = "fileName")
+    private String fileName;
+
+    @Column(name = "titre")
+    private String titre;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "documentType")
+    private DocumentType documentType;
+
+    @Column(name = "idUser")
+    private String userId;
+
+    @Column(name = "idProjet")
+    private String projectId;
+
+    @Column(name = "totalSize")
+    private long totalSize;
+
+    @Column(name = "chunkSize")
+    private int chunkSize;
+
+    @Column(name = "receivedChunks", columnDefinition = "BLOB")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private byte[] receivedChunks;
+
+    @Column(name = "completed")
+    private boolean completed;
+
+    @Column(name = "createdAt")
+    private LocalDateTime createdAt;
+
+    @Column(name = "expiresAt")
+    private LocalDateTime expiresAt;
+
+    @PrePersist
+    public void ensureId() {
+        if (this.id == null) {
+            this.id = UUID.randomUUID().toString();
+        }
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.tili.backend.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single fan-out point for dashboard Server-Sent Events. Every client has a small bounded queue
+ * drained by a fixed sender pool; clients waiting for a sender line up in the pool's queue, so the
+ * number of subscribers is not capped by the number of threads. A client is disconnected only when
+ * its own queue overflows or its write has been blocked past the send deadline. Idle clients cost
+ * nothing but an occasional heartbeat.
+ */
+@Component
+public class DashboardBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardBroadcaster.class);
+
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final int CLIENT_BUFFER_SIZE = 32;
+    private static final long SEND_DEADLINE_MS = 5000;
+    private static final int SENDERS = 8;
+    private static final Message HEARTBEAT = new Message(null, "heartbeat");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger senderThreads = new AtomicInteger();
+
+    // Each client has at most one drain task queued or running, so the queue never holds more
+    // entries than there are clients
+    private final ExecutorService sender = Executors.newFixedThreadPool(SENDERS, runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-sse-" + senderThreads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // SseEmitter serialises send and complete, so completing a client whose write is blocked waits
+    // for that write to fail; this thread does the waiting instead of the scheduler
+    private final ExecutorService reaper = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-sse-reaper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(EMITTER_TIMEOUT_MS));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        Client client = new Client(emitter);
+        clients.add(client);
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(client::drop);
+        emitter.onError(e -> client.drop());
+        return emitter;
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDashboardChange(DashboardChangeEvent event) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        if (event.getCounterDeltas() != null && !event.getCounterDeltas().isEmpty()) {
+            broadcast(new Message("counters", toJson(event.getCounterDeltas())));
+        }
+        if (event.getActivity() != null) {
+            broadcast(new Message("activity", toJson(event.getActivity())));
+        }
+    }
+
+    // Keeps proxies from closing idle connections and detects clients that went away
+    @Scheduled(fixedRate = 25000)
+    public void heartbeat() {
+        broadcast(HEARTBEAT);
+    }
+
+    // A client whose current write has been blocked too long is cut off; its sender thread is
+    // released when the write finally fails
+    @Scheduled(fixedRate = 1000)
+    public void dropStalledClients() {
+        long now = System.currentTimeMillis();
+        for (Client client : clients) {
+            long startedAt = client.sendStartedAt;
+            if (startedAt != 0 && now - startedAt > SEND_DEADLINE_MS) {
+                log.debug("Dropping stalled dashboard client");
+                client.abandon();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clients.forEach(Client::drop);
+        sender.shutdownNow();
+        reaper.shutdownNow();
+    }
+
+    private void broadcast(Message message) {
+        for (Client client : clients) {
+            client.offer(message);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize dashboard event", e);
+        }
+    }
+
+    private record Message(String name, String data) {
+    }
+
+    private class Client {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> queue = new ArrayBlockingQueue<>(CLIENT_BUFFER_SIZE);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long sendStartedAt;
+
+        Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Message message) {
+            if (!queue.offer(message)) {
+                log.debug("Dropping slow dashboard client");
+                drop();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                startDrain();
+            }
+        }
+
+        private void startDrain() {
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Only after shutdown
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                Message message;
+                while ((message = queue.poll()) != null) {
+                    sendStartedAt = System.currentTimeMillis();
+                    if (message.name() == null) {
+                        emitter.send(SseEmitter.event().comment(message.data()));
+                    } else {
+                        emitter.send(SseEmitter.event().name(message.name()).data(message.data()));
+                    }
+                    sendStartedAt = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                drop();
+                return;
+            } finally {
+                sendStartedAt = 0;
+                draining.set(false);
+            }
+            if (!clients.contains(this)) {
+                return;
+            }
+            // A message may have arrived between the last poll and releasing the flag
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                startDrain();
+            }
+        }
+
+        void abandon() {
+            if (clients.remove(this)) {
+                queue.clear();
+                try {
+                    reaper.execute(() -> completeWithError(new IOException("Dashboard client stopped reading")));
+                } catch (RejectedExecutionException e) {
+                    // shutting down; the container closes the connection
+                }
+            }
+        }
+
+        void drop() {
+            if (clients.remove(this)) {
+                queue.clear();
+                complete();
+            }
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // already completed
+            }
+        }
+
+        private void completeWithError(Throwable cause) {
+            try {
+                emitter.completeWithError(cause);
+            } catch (IllegalStateException ignored) {
+                // already completed
+            }
+        }
+    }
+}
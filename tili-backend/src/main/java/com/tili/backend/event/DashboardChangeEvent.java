@@ -0,0 +1,18 @@
+package com.tili.backend.event;
+
+import com.tili.backend.dto.RecentActivityDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Published by the write paths; carries counter deltas (e.g. totalDocuments +1) rather than totals,
+ * so pushing it to dashboards never requires re-running the count queries.
+ */
+@Data
+@AllArgsConstructor
+public class DashboardChangeEvent {
+    private Map<String, Long> counterDeltas;
+    private RecentActivityDTO activity;
+}
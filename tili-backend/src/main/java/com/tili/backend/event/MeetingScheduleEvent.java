@@ -0,0 +1,14 @@
+package com.tili.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/** Published when a meeting is created or its date changes; date is null once it no longer takes place. */
+@Data
+@AllArgsConstructor
+public class MeetingScheduleEvent {
+    private String meetingId;
+    private LocalDateTime date;
+}
@@ -0,0 +1,19 @@
+package com.tili.backend.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Local stand-in for a real delivery channel: logs each reminder instead of sending it. */
+@Component
+@ConditionalOnProperty(name = "tili.reminders.sender", havingValue = "log", matchIfMissing = true)
+public class LoggingReminderSender implements ReminderSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderSender.class);
+
+    @Override
+    public void send(MeetingReminder reminder) {
+        log.info("Reminder for {} recipient(s): {}", reminder.getRecipients().size(), reminder.getMessage());
+    }
+}
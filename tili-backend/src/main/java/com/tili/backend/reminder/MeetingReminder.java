@@ -0,0 +1,21 @@
+package com.tili.backend.reminder;
+
+import com.tili.backend.dto.UserDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** A reminder that came due, with everything a sender needs so it never has to query the database. */
+@Data
+@AllArgsConstructor
+public class MeetingReminder {
+    private String meetingId;
+    private String title;
+    private String location;
+    private LocalDateTime meetingDate;
+    private long minutesBefore;
+    private String message;
+    private List<UserDTO> recipients;
+}
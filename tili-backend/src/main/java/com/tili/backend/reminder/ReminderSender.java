@@ -0,0 +1,10 @@
+package com.tili.backend.reminder;
+
+/**
+ * Delivers meeting reminders outside the application (e-mail, chat, push). Reminders always go to
+ * the in-app notification feed; every sender bean additionally receives each one.
+ */
+public interface ReminderSender {
+
+    void send(MeetingReminder reminder);
+}
@@ -0,0 +1,149 @@
+package com.tili.backend.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical hashed timing wheel. Level 0 has one slot per tick; each higher level has slots as
+ * wide as a full turn of the level below, and when one of its slots comes up the entries in it
+ * cascade down a level. Scheduling, cancelling and advancing one tick cost O(1) however many
+ * entries are pending, and an entry is moved at most once per level before it expires.
+ *
+ * <p>Times are plain epoch milliseconds supplied by the caller, which drives the wheel with
+ * {@link #advanceTo(long)}; the wheel owns no thread.
+ */
+public class TimingWheel<T> {
+
+    private final int wheelSize;
+    private final Level level0;
+    // Scheduled for a time the wheel has already reached; returned by the next advance
+    private final List<Timeout<T>> overdue = new ArrayList<>();
+    private int pending;
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.wheelSize = wheelSize;
+        this.level0 = new Level(tickMs, startMs - startMs % tickMs);
+    }
+
+    public synchronized Timeout<T> schedule(T value, long deadlineMs) {
+        // Rounded up to a tick boundary so that nothing fires before its deadline
+        long remainder = Math.floorMod(deadlineMs, level0.tickMs);
+        long slotTime = remainder == 0 ? deadlineMs : deadlineMs - remainder + level0.tickMs;
+        Timeout<T> timeout = new Timeout<>(value, deadlineMs, slotTime);
+        if (!level0.add(timeout)) {
+            overdue.add(timeout);
+        }
+        pending++;
+        return timeout;
+    }
+
+    /** Moves the wheel forward one tick at a time up to nowMs and returns the values that came due. */
+    public synchronized List<T> advanceTo(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        List<Timeout<T>> flushed = new ArrayList<>(overdue);
+        overdue.clear();
+        collect(flushed, expired);
+
+        while (level0.currentTime + level0.tickMs <= nowMs) {
+            long time = level0.currentTime + level0.tickMs;
+            // Every level whose tick boundary this is moves before anything is re-added, so
+            // entries cascading down are placed relative to the new time
+            for (Level level = level0; level != null && time % level.tickMs == 0; level = level.overflow) {
+                level.currentTime = time;
+                level.takeCurrentSlot(flushed);
+            }
+            collect(flushed, expired);
+        }
+        return expired;
+    }
+
+    /** Scheduled entries not yet expired, including cancelled ones that have not been swept yet. */
+    public synchronized int pendingCount() {
+        return pending;
+    }
+
+    private void collect(List<Timeout<T>> flushed, List<T> expired) {
+        for (Timeout<T> timeout : flushed) {
+            if (timeout.cancelled) {
+                pending--;
+            } else if (!level0.add(timeout)) {
+                pending--;
+                expired.add(timeout.value);
+            }
+        }
+        flushed.clear();
+    }
+
+    /** Handle to a scheduled entry. Cancelled entries are dropped lazily, when their slot is next visited. */
+    public static final class Timeout<T> {
+        private final T value;
+        private final long deadlineMs;
+        private final long slotTime;
+        private volatile boolean cancelled;
+
+        private Timeout(T value, long deadlineMs, long slotTime) {
+            this.value = value;
+            this.deadlineMs = deadlineMs;
+            this.slotTime = slotTime;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getDeadlineMs() {
+            return deadlineMs;
+        }
+    }
+
+    private final class Level {
+        private final long tickMs;
+        private final List<Timeout<T>>[] slots;
+        private long currentTime;
+        private Level overflow;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, long currentTime) {
+            this.tickMs = tickMs;
+            this.currentTime = currentTime;
+            this.slots = new List[wheelSize];
+        }
+
+        /** Returns false if the deadline falls within the current tick, i.e. the entry is due. */
+        boolean add(Timeout<T> timeout) {
+            long deadline = timeout.slotTime;
+            if (deadline < currentTime + tickMs) {
+                return false;
+            }
+            if (deadline < currentTime + tickMs * wheelSize) {
+                int index = (int) ((deadline / tickMs) % wheelSize);
+                if (slots[index] == null) {
+                    slots[index] = new ArrayList<>();
+                }
+                slots[index].add(timeout);
+                return true;
+            }
+            if (overflow == null) {
+                long overflowTick = tickMs * wheelSize;
+                overflow = new Level(overflowTick, currentTime - currentTime % overflowTick);
+            }
+            // Beyond this level's range, so always at least one overflow tick away
+            return overflow.add(timeout);
+        }
+
+        void takeCurrentSlot(List<Timeout<T>> into) {
+            int index = (int) ((currentTime / tickMs) % wheelSize);
+            if (slots[index] != null) {
+                into.addAll(slots[index]);
+                slots[index] = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.tili.backend.repository;
+
+import com.tili.backend.entity.AppSetting;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AppSettingRepository extends JpaRepository<AppSetting, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from AppSetting s where s.name = :name")
+    Optional<AppSetting> findForUpdate(@Param("name") String name);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select s from AppSetting s where s.name = :name")
+    Optional<AppSetting> findForShare(@Param("name") String name);
+}
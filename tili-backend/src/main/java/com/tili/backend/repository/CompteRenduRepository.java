@@ -1,9 +1,19 @@
 package com.tili.backend.repository;
 
 import com.tili.backend.entity.CompteRendu;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CompteRenduRepository extends JpaRepository<CompteRendu, String> {
+
+    // Selects only the listed columns so the (possibly large) content is never read
+    @Query(value = "select c.id as id, c.meeting.id as meetingId, c.createAt as createAt, "
+            + "c.contentLength as contentLength from CompteRendu c where c.meeting.id = :meetingId",
+            countQuery = "select count(c) from CompteRendu c where c.meeting.id = :meetingId")
+    Page<CompteRenduSummary> findSummariesByMeetingId(@Param("meetingId") String meetingId, Pageable pageable);
 }
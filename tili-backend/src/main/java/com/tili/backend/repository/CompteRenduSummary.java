@@ -0,0 +1,13 @@
+package com.tili.backend.repository;
+
+import java.time.LocalDate;
+
+public interface CompteRenduSummary {
+    String getId();
+
+    String getMeetingId();
+
+    LocalDate getCreateAt();
+
+    Integer getContentLength();
+}
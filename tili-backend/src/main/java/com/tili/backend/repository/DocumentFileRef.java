@@ -0,0 +1,7 @@
+package com.tili.backend.repository;
+
+public interface DocumentFileRef {
+    String getId();
+
+    String getFilePath();
+}
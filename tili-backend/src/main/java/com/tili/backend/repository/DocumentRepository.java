@@ -2,9 +2,17 @@ package com.tili.backend.repository;
 
 import com.tili.backend.entity.Document;
 import com.tili.backend.enums.DocumentType;
+import com.tili.backend.enums.ProjectStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,4 +22,62 @@ public interface DocumentRepository extends JpaRepository<Document, String> {
     List<Document> findTop10ByOrderByCreatedAtDesc();
 
     List<Document> findByDocumentType(DocumentType type);
+
+    List<Document> findByProjectId(String projectId);
+
+    // [documentType, count, latest createdAt] of one project's documents
+    @Query("select d.documentType, count(d), max(d.createdAt) from Document d "
+            + "where d.project.id = :projectId group by d.documentType")
+    List<Object[]> summarizeByTypeForProject(@Param("projectId") String projectId);
+
+    // Keyset-paged by id so the batch job never re-reads rows it has already handled
+    @Query("select d.id as id, d.filePath as filePath from Document d left join d.project p "
+            + "where d.id > :afterId and locate(:coldPrefix, d.filePath) <> 1 "
+            + "and (coalesce(d.lastAccessedAt, d.createdAt) < :cutoff or p.statut = :closed) order by d.id")
+    List<DocumentFileRef> findColdCandidates(@Param("afterId") String afterId,
+            @Param("coldPrefix") String coldPrefix,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("closed") ProjectStatus closed,
+            Pageable pageable);
+
+    // Binary collation so the order matches String.compareTo, which the orphan reconciler merges against.
+    // The column itself is utf8mb4_bin (see tili_database.sql), so the COLLATE is a no-op and each batch
+    // is a range scan on idx_document_filePath (filePath, then the primary key id)
+    @Query(value = "SELECT id, filePath FROM document "
+            + "WHERE filePath COLLATE utf8mb4_bin > :afterPath "
+            + "OR (filePath COLLATE utf8mb4_bin = :afterPath AND id > :afterId) "
+            + "ORDER BY filePath COLLATE utf8mb4_bin, id LIMIT :limit", nativeQuery = true)
+    List<DocumentFileRef> findFilePathsAfter(@Param("afterPath") String afterPath,
+            @Param("afterId") String afterId,
+            @Param("limit") int limit);
+
+    boolean existsByFilePath(String filePath);
+
+    @Modifying
+    @Transactional
+    @Query("update Document d set d.filePath = :newPath where d.id = :id and d.filePath = :oldPath")
+    int updateFilePath(@Param("id") String id, @Param("oldPath") String oldPath, @Param("newPath") String newPath);
+
+    @Modifying
+    @Transactional
+    @Query("update Document d set d.lastAccessedAt = :accessedAt where d.id = :id")
+    int touch(@Param("id") String id, @Param("accessedAt") LocalDateTime accessedAt);
+
+    @Modifying
+    @Transactional
+    @Query("update Document d set d.lastAccessedAt = :accessedAt where d.id in :ids")
+    int touchAll(@Param("ids") Collection<String> ids, @Param("accessedAt") LocalDateTime accessedAt);
+
+    /** Whether a read now should be recorded; reads are recorded at most once a day per document. */
+    static boolean needsTouch(Document doc, LocalDateTime now) {
+        return doc.getLastAccessedAt() == null || doc.getLastAccessedAt().isBefore(now.minusDays(1));
+    }
+
+    /** Records a read of the document, so tiering keeps documents in use hot. */
+    default void touchIfStale(Document doc) {
+        LocalDateTime now = LocalDateTime.now();
+        if (needsTouch(doc, now)) {
+            touch(doc.getId(), now);
+        }
+    }
 }
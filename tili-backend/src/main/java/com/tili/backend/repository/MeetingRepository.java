@@ -2,11 +2,32 @@ package com.tili.backend.repository;
 
 import com.tili.backend.entity.Meeting;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface MeetingRepository extends JpaRepository<Meeting, String> {
     List<Meeting> findByProjectId(String projectId);
+
+    List<Meeting> findByParticipantsId(String userId);
+
+    // [id, date] only: meeting entities load their project and participants
+    @Query("select m.id, m.date from Meeting m where m.date > :from")
+    List<Object[]> findScheduleAfter(@Param("from") LocalDateTime from);
+
+    // [projectId, count, latest date] of meetings that started in (from, to]
+    @Query("select m.project.id, count(m), max(m.date) from Meeting m "
+            + "where m.project is not null and m.date > :from and m.date <= :to group by m.project.id")
+    List<Object[]> countHeldBetweenByProject(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // One row: [held, upcoming, latest held date] of one project's meetings
+    @Query("select sum(case when m.date <= :heldUntil then 1 else 0 end), "
+            + "sum(case when m.date > :heldUntil then 1 else 0 end), max(case when m.date <= :heldUntil then m.date end) "
+            + "from Meeting m where m.project.id = :projectId")
+    List<Object[]> summarizeForProject(@Param("projectId") String projectId,
+            @Param("heldUntil") LocalDateTime heldUntil);
 }
@@ -0,0 +1,24 @@
+package com.tili.backend.repository;
+
+import com.tili.backend.entity.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, String> {
+
+    List<Notification> findByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
+
+    long countByUserIdAndReadAtIsNull(String userId);
+
+    @Modifying
+    @Query("update Notification n set n.readAt = :readAt where n.userId = :userId and n.readAt is null")
+    int markAllRead(@Param("userId") String userId, @Param("readAt") LocalDateTime readAt);
+}
@@ -3,6 +3,7 @@ package com.tili.backend.repository;
 import com.tili.backend.entity.Project;
 import com.tili.backend.enums.ProjectStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +13,9 @@ public interface ProjectRepository extends JpaRepository<Project, String> {
     long countByStatut(ProjectStatus statut);
 
     List<Project> findByStatut(ProjectStatus statut);
+
+    List<Project> findByMembersId(String userId);
+
+    @Query("select p.id from Project p")
+    List<String> findAllIds();
 }
@@ -0,0 +1,30 @@
+package com.tili.backend.repository;
+
+import com.tili.backend.entity.ProjectStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ProjectStatsRepository extends JpaRepository<ProjectStats, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ProjectStats s where s.projectId = :projectId")
+    Optional<ProjectStats> findForUpdate(@Param("projectId") String projectId);
+
+    @Modifying
+    @Query("update ProjectStats s set s.meetingsHeld = s.meetingsHeld + :count, "
+            + "s.meetingsUpcoming = s.meetingsUpcoming - :count, "
+            + "s.lastActivityAt = case when s.lastActivityAt is null or s.lastActivityAt < :heldAt "
+            + "then :heldAt else s.lastActivityAt end "
+            + "where s.projectId = :projectId")
+    int rollOverMeetings(@Param("projectId") String projectId, @Param("count") long count,
+            @Param("heldAt") LocalDateTime heldAt);
+}
@@ -0,0 +1,23 @@
+package com.tili.backend.repository;
+
+import com.tili.backend.entity.UploadSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from UploadSession u where u.id = :id")
+    Optional<UploadSession> findForUpdate(@Param("id") String id);
+
+    List<UploadSession> findByExpiresAtBefore(LocalDateTime cutoff);
+}
@@ -4,9 +4,22 @@ import com.tili.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
     Optional<User> findByEmail(String email);
+
+    // findAllById silently skips ids that do not exist; members and participants must all be real users
+    default Set<User> findAllByIdOrThrow(Collection<String> ids) {
+        Set<String> wanted = new HashSet<>(ids);
+        Set<User> users = new HashSet<>(findAllById(wanted));
+        if (users.size() != wanted.size()) {
+            throw new RuntimeException("User not found");
+        }
+        return users;
+    }
 }
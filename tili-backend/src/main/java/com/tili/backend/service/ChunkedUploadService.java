@@ -0,0 +1,365 @@
+package com.tili.backend.service;
+
+import com.tili.backend.dto.DocumentDTO;
+import com.tili.backend.dto.UploadSessionDTO;
+import com.tili.backend.entity.UploadSession;
+import com.tili.backend.repository.ProjectRepository;
+import com.tili.backend.repository.UploadSessionRepository;
+import com.tili.backend.repository.UserRepository;
+import com.tili.backend.storage.DocumentStorage;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Resumable uploads: a session preallocates a part file of the final size, chunks are written
+ * straight into it at their offset (in any order, possibly in parallel), and completing the session
+ * moves the file into document storage. Sessions idle for longer than the TTL are discarded.
+ *
+ * <p>The move keeps the file's inode, so a chunk still being written would land in the document.
+ * Chunk writes therefore hold their session's read lock, and completing, aborting or expiring a
+ * session takes the write lock, which waits for them. The locks are per instance, like the part
+ * files in {@code tili.upload.session-dir}.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadService.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+    private static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+    private static final int MAX_REPORTED_MISSING = 100;
+    private static final int MAX_TITLE_LENGTH = 50; // document.titre
+    private static final long DRAIN_TIMEOUT_SECONDS = 30;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+    @Autowired
+    private DocumentService documentService;
+    @Autowired
+    private DocumentStorage documentStorage;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${tili.upload.session-dir:uploads/sessions}")
+    private String sessionDirectory;
+    @Value("${tili.upload.default-chunk-size-mb:8}")
+    private int defaultChunkSizeMb;
+    @Value("${tili.upload.max-size-mb:4096}")
+    private long maxSizeMb;
+    @Value("${tili.upload.session-ttl-hours:24}")
+    private long sessionTtlHours;
+
+    private Path sessionRoot;
+    private final ConcurrentHashMap<String, ReentrantReadWriteLock> partFileLocks = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        sessionRoot = Paths.get(sessionDirectory).toAbsolutePath().normalize();
+        Files.createDirectories(sessionRoot);
+    }
+
+    public UploadSessionDTO createSession(UploadSessionDTO dto) throws IOException {
+        if (dto.getTotalSize() <= 0 || dto.getTotalSize() > maxSizeMb * 1024 * 1024) {
+            throw new RuntimeException("Invalid file size");
+        }
+        String fileName = DocumentStorage.baseName(dto.getFileName());
+        if (dto.getUserId() == null || fileName == null) {
+            throw new RuntimeException("userId and fileName are required");
+        }
+        // Everything createDocument will check, so a bad request fails before the upload, not after it
+        if (!userRepository.existsById(dto.getUserId())) {
+            throw new RuntimeException("User not found");
+        }
+        if (dto.getProjectId() != null && !projectRepository.existsById(dto.getProjectId())) {
+            throw new RuntimeException("Project not found");
+        }
+        if (dto.getTitle() != null && dto.getTitle().length() > MAX_TITLE_LENGTH) {
+            throw new RuntimeException("Title must be at most " + MAX_TITLE_LENGTH + " characters");
+        }
+        int chunkSize = dto.getChunkSize() != null ? dto.getChunkSize() : defaultChunkSizeMb * 1024 * 1024;
+        chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, chunkSize));
+
+        UploadSession session = new UploadSession();
+        session.setFileName(fileName);
+        session.setTitre(dto.getTitle() != null ? dto.getTitle()
+                : session.getFileName().substring(0, Math.min(MAX_TITLE_LENGTH, session.getFileName().length())));
+        session.setDocumentType(dto.getType());
+        session.setUserId(dto.getUserId());
+        session.setProjectId(dto.getProjectId());
+        session.setTotalSize(dto.getTotalSize());
+        session.setChunkSize(chunkSize);
+        session.setReceivedChunks(new byte[0]);
+        session.setExpiresAt(LocalDateTime.now().plusHours(sessionTtlHours));
+        UploadSession saved = uploadSessionRepository.save(session);
+
+        // Sparse where supported, so preallocation costs no I/O
+        try (RandomAccessFile file = new RandomAccessFile(partFile(saved.getId()).toFile(), "rw")) {
+            file.setLength(saved.getTotalSize());
+        } catch (IOException e) {
+            uploadSessionRepository.delete(saved);
+            throw e;
+        }
+        return mapToDTO(saved);
+    }
+
+    public UploadSessionDTO getSession(String id) {
+        return mapToDTO(findActive(id));
+    }
+
+    public UploadSessionDTO writeChunk(String id, long offset, InputStream body) throws IOException {
+        UploadSession session = findActive(id);
+        if (offset < 0 || offset >= session.getTotalSize() || offset % session.getChunkSize() != 0) {
+            throw new RuntimeException("Offset must be a multiple of the chunk size within the file");
+        }
+        int index = (int) (offset / session.getChunkSize());
+        long expected = Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+
+        Lock lock = partFileLock(id).readLock();
+        lock.lock();
+        try {
+            // Completing or aborting may have run while this request waited for the lock
+            findActive(id);
+            return mapToDTO(writeChunk(id, index, offset, expected, body));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UploadSession writeChunk(String id, int index, long offset, long expected, InputStream body)
+            throws IOException {
+        // Positional writes: concurrent chunks share nothing but the file itself
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(partFile(id), StandardOpenOption.WRITE)) {
+            byte[] array = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = body.read(array)) != -1) {
+                if (written + read > expected) {
+                    throw new RuntimeException("Chunk is larger than " + expected + " bytes");
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(array, 0, read);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer, offset + written + buffer.position());
+                }
+                written += read;
+            }
+        }
+        if (written != expected) {
+            throw new RuntimeException("Incomplete chunk: received " + written + " of " + expected + " bytes");
+        }
+
+        return transactionTemplate.execute(status -> {
+            UploadSession locked = uploadSessionRepository.findForUpdate(id)
+                    .orElseThrow(() -> new RuntimeException("Upload session not found"));
+            if (locked.isCompleted()) {
+                throw new RuntimeException("Upload session already completed");
+            }
+            BitSet received = BitSet.valueOf(locked.getReceivedChunks());
+            received.set(index);
+            locked.setReceivedChunks(received.toByteArray());
+            locked.setExpiresAt(LocalDateTime.now().plusHours(sessionTtlHours));
+            return locked;
+        });
+    }
+
+    public DocumentDTO complete(String id) throws IOException {
+        Lock lock = drainWrites(id);
+        try {
+            DocumentDTO document = completeDrained(id);
+            partFileLocks.remove(id);
+            return document;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private DocumentDTO completeDrained(String id) throws IOException {
+        UploadSession session = transactionTemplate.execute(status -> {
+            UploadSession locked = uploadSessionRepository.findForUpdate(id)
+                    .orElseThrow(() -> new RuntimeException("Upload session not found"));
+            if (locked.isCompleted()) {
+                throw new RuntimeException("Upload session already completed");
+            }
+            BitSet received = BitSet.valueOf(locked.getReceivedChunks());
+            if (received.cardinality() < totalChunks(locked)) {
+                throw new RuntimeException("Upload is missing chunks");
+            }
+            locked.setCompleted(true);
+            return locked;
+        });
+
+        String filePath;
+        try {
+            filePath = documentStorage.importFile(session.getFileName(), partFile(id));
+        } catch (IOException | RuntimeException e) {
+            // The part file is still in place, so the client may retry completing
+            reopen(id);
+            throw e;
+        }
+
+        DocumentDTO document;
+        try {
+            document = documentService.createDocument(session.getTitre(), session.getDocumentType(),
+                    session.getUserId(), session.getProjectId(), filePath);
+        } catch (RuntimeException e) {
+            // Put the file back so completing can be retried; if even that fails, the orphan
+            // reconciler removes the file and the session expires
+            try {
+                Files.move(Paths.get(filePath), partFile(id));
+                reopen(id);
+            } catch (IOException | RuntimeException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        }
+        uploadSessionRepository.deleteById(id);
+        return document;
+    }
+
+    private void reopen(String id) {
+        transactionTemplate.executeWithoutResult(status -> uploadSessionRepository.findForUpdate(id)
+                .ifPresent(locked -> locked.setCompleted(false)));
+    }
+
+    public void abort(String id) throws IOException {
+        Lock lock = drainWrites(id);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                UploadSession locked = uploadSessionRepository.findForUpdate(id)
+                        .orElseThrow(() -> new RuntimeException("Upload session not found"));
+                if (locked.isCompleted()) {
+                    throw new RuntimeException("Upload session already completed");
+                }
+                uploadSessionRepository.delete(locked);
+            });
+            partFileLocks.remove(id);
+            Files.deleteIfExists(partFile(id));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Takes the session's write lock once the chunk writes in progress have finished. */
+    private Lock drainWrites(String id) {
+        if (!uploadSessionRepository.existsById(id)) {
+            throw new RuntimeException("Upload session not found");
+        }
+        Lock lock = partFileLock(id).writeLock();
+        try {
+            if (!lock.tryLock(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new RuntimeException("Chunks are still being written to this upload; retry once they finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for chunk writes", e);
+        }
+        return lock;
+    }
+
+    private ReentrantReadWriteLock partFileLock(String id) {
+        return partFileLocks.computeIfAbsent(id, key -> new ReentrantReadWriteLock());
+    }
+
+    @Scheduled(fixedDelayString = "${tili.upload.cleanup-ms:600000}")
+    public void expireSessions() {
+        int removed = 0;
+        for (UploadSession session : uploadSessionRepository.findByExpiresAtBefore(LocalDateTime.now())) {
+            // A session still receiving a chunk is not idle; the chunk extends it
+            Lock lock = partFileLock(session.getId()).writeLock();
+            if (!lock.tryLock()) {
+                continue;
+            }
+            try {
+                // A chunk that finished before the lock was taken may have extended the session
+                if (uploadSessionRepository.findById(session.getId())
+                        .filter(current -> current.getExpiresAt().isBefore(LocalDateTime.now()))
+                        .isEmpty()) {
+                    continue;
+                }
+                Files.deleteIfExists(partFile(session.getId()));
+                uploadSessionRepository.delete(session);
+                partFileLocks.remove(session.getId());
+                removed++;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not expire upload session {}", session.getId(), e);
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (removed > 0) {
+            log.info("Expired {} abandoned upload sessions", removed);
+        }
+    }
+
+    private UploadSession findActive(String id) {
+        UploadSession session = uploadSessionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Upload session not found"));
+        if (session.isCompleted() || session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Upload session is no longer active");
+        }
+        return session;
+    }
+
+    private Path partFile(String id) {
+        // Session ids are UUIDs generated here; anything else cannot name a file
+        return sessionRoot.resolve(id.replaceAll("[^A-Za-z0-9-]", "") + ".part");
+    }
+
+    private int totalChunks(UploadSession session) {
+        return (int) ((session.getTotalSize() + session.getChunkSize() - 1) / session.getChunkSize());
+    }
+
+    private UploadSessionDTO mapToDTO(UploadSession session) {
+        BitSet received = BitSet.valueOf(session.getReceivedChunks() != null ? session.getReceivedChunks() : new byte[0]);
+        int totalChunks = totalChunks(session);
+        int firstMissing = received.nextClearBit(0);
+
+        List<Integer> missing = new ArrayList<>();
+        for (int i = firstMissing; i < totalChunks && missing.size() < MAX_REPORTED_MISSING; i = received.nextClearBit(i + 1)) {
+            missing.add(i);
+        }
+
+        UploadSessionDTO dto = new UploadSessionDTO();
+        dto.setId(session.getId());
+        dto.setFileName(session.getFileName());
+        dto.setTitle(session.getTitre());
+        dto.setType(session.getDocumentType());
+        dto.setUserId(session.getUserId());
+        dto.setProjectId(session.getProjectId());
+        dto.setTotalSize(session.getTotalSize());
+        dto.setChunkSize(session.getChunkSize());
+        dto.setReceivedOffset(Math.min(session.getTotalSize(), (long) firstMissing * session.getChunkSize()));
+        dto.setTotalChunks(totalChunks);
+        dto.setReceivedChunks(Math.min(received.cardinality(), totalChunks));
+        dto.setMissingChunks(missing);
+        dto.setExpiresAt(session.getExpiresAt());
+        return dto;
+    }
+}
@@ -0,0 +1,109 @@
+package com.tili.backend.service;
+
+import com.tili.backend.dto.CompteRenduDTO;
+import com.tili.backend.entity.CompteRendu;
+import com.tili.backend.entity.Meeting;
+import com.tili.backend.repository.CompteRenduRepository;
+import com.tili.backend.repository.CompteRenduSummary;
+import com.tili.backend.repository.MeetingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class CompteRenduService {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private CompteRenduRepository compteRenduRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Transactional
+    public CompteRenduDTO createCompteRendu(CompteRenduDTO dto) {
+        Meeting meeting = meetingRepository.findById(dto.getMeetingId())
+                .orElseThrow(() -> new RuntimeException("Meeting not found"));
+        String content = dto.getContent() != null ? dto.getContent() : "";
+
+        CompteRendu compteRendu = new CompteRendu();
+        compteRendu.setMeeting(meeting);
+        compteRendu.setContent(""); // column is NOT NULL in the original schema
+        compteRendu.setCompressedContent(compress(content));
+        compteRendu.setContentLength(content.length());
+
+        CompteRendu saved = compteRenduRepository.save(compteRendu);
+        CompteRenduDTO result = new CompteRenduDTO();
+        result.setId(saved.getId());
+        result.setMeetingId(meeting.getId());
+        result.setContent(content);
+        result.setContentLength(saved.getContentLength());
+        result.setCreateAt(saved.getCreateAt());
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<CompteRenduDTO> getCompteRendusByMeeting(String meetingId, int page, int size) {
+        // Out-of-range values from the query string are clamped rather than failing in PageRequest.of
+        int safePage = Math.max(page, 0);
+        int safeSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest pageable = PageRequest.of(safePage, safeSize, Sort.by(Sort.Direction.DESC, "createAt"));
+        return compteRenduRepository.findSummariesByMeetingId(meetingId, pageable).map(this::mapSummaryToDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public CompteRenduDTO getCompteRenduById(String id) {
+        CompteRendu compteRendu = compteRenduRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Compte rendu not found"));
+        CompteRenduDTO dto = new CompteRenduDTO();
+        dto.setId(compteRendu.getId());
+        dto.setMeetingId(compteRendu.getMeeting() != null ? compteRendu.getMeeting().getId() : null);
+        dto.setCreateAt(compteRendu.getCreateAt());
+        String content = compteRendu.getCompressedContent() != null
+                ? decompress(compteRendu.getCompressedContent())
+                : compteRendu.getContent();
+        dto.setContent(content);
+        dto.setContentLength(content != null ? content.length() : 0);
+        return dto;
+    }
+
+    private CompteRenduDTO mapSummaryToDTO(CompteRenduSummary summary) {
+        CompteRenduDTO dto = new CompteRenduDTO();
+        dto.setId(summary.getId());
+        dto.setMeetingId(summary.getMeetingId());
+        dto.setCreateAt(summary.getCreateAt());
+        dto.setContentLength(summary.getContentLength());
+        return dto;
+    }
+
+    private byte[] compress(String content) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private String decompress(byte[] data) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
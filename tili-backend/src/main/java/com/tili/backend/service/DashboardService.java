@@ -9,6 +9,7 @@ import com.tili.backend.repository.MeetingRepository;
 import com.tili.backend.dto.RecentActivityDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -23,6 +24,7 @@ public class DashboardService {
     @Autowired
     private DocumentRepository documentRepository;
 
+    @Transactional(readOnly = true)
     public DashboardDTO getStats() {
         DashboardDTO dto = new DashboardDTO();
         dto.setTotalProjects(projectRepository.count());
@@ -0,0 +1,207 @@
+package com.tili.backend.service;
+
+import com.tili.backend.entity.Document;
+import com.tili.backend.repository.DocumentRepository;
+import com.tili.backend.storage.DocumentStorage;
+import com.tili.backend.storage.PreviewCache;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Renders first-page thumbnails for PDFs and images. Concurrent requests for the same preview
+ * share one render, and the number of renders running at once is capped to bound memory use.
+ */
+@Service
+public class DocumentPreviewService {
+
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+
+    @Autowired
+    private DocumentRepository documentRepository;
+    @Autowired
+    private DocumentStorage documentStorage;
+    @Autowired
+    private PreviewCache previewCache;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Optional<byte[]>>> inFlight = new ConcurrentHashMap<>();
+    private final Semaphore renderPermits = new Semaphore(Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+    public Optional<Document> findDocument(String documentId) {
+        return documentRepository.findById(documentId);
+    }
+
+    /**
+     * Cache key and ETag for a preview. It changes whenever the document points at a different
+     * stored file, but not when that file moves between tiers.
+     */
+    public String previewKey(Document doc, int width) {
+        String content = doc.getFilePath() != null ? documentStorage.contentKey(doc.getFilePath()) : "";
+        return doc.getId().replaceAll("[^A-Za-z0-9-]", "") + "_" + sha256(content) + "_" + width + ".jpg";
+    }
+
+    public Optional<byte[]> getPreview(Document doc, int width) {
+        documentRepository.touchIfStale(doc);
+        String key = previewKey(doc, width);
+        byte[] cached = previewCache.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        CompletableFuture<Optional<byte[]>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<byte[]>> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+        try {
+            Optional<byte[]> preview = render(doc, width);
+            preview.ifPresent(bytes -> previewCache.put(key, bytes));
+            mine.complete(preview);
+            return preview;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // The content key is unique per stored file; a full digest keeps two files from sharing a preview
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Optional<byte[]> render(Document doc, int width) {
+        if (doc.getFilePath() == null) {
+            return Optional.empty();
+        }
+        String extension = extension(documentStorage.originalFileName(doc.getFilePath()));
+        if (!extension.equals("pdf") && !IMAGE_EXTENSIONS.contains(extension)) {
+            return Optional.empty();
+        }
+
+        renderPermits.acquireUninterruptibly();
+        try {
+            BufferedImage image = extension.equals("pdf")
+                    ? renderPdfFirstPage(doc.getFilePath(), width)
+                    : readImage(doc.getFilePath(), width);
+            if (image == null) {
+                return Optional.empty();
+            }
+            return Optional.of(toJpeg(scale(image, width)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not render preview of document " + doc.getId(), e);
+        } finally {
+            renderPermits.release();
+        }
+    }
+
+    private BufferedImage renderPdfFirstPage(String storedPath, int width) throws IOException {
+        try (PDDocument pdf = loadPdf(storedPath)) {
+            if (pdf.getNumberOfPages() == 0) {
+                return null;
+            }
+            PDPage page = pdf.getPage(0);
+            float scale = width / page.getCropBox().getWidth();
+            return new PDFRenderer(pdf).renderImage(0, Math.min(scale, 2f), ImageType.RGB);
+        }
+    }
+
+    private PDDocument loadPdf(String storedPath) throws IOException {
+        if (!documentStorage.isCold(storedPath)) {
+            return Loader.loadPDF(new File(storedPath));
+        }
+        // Cold files are compressed, so they have to be decompressed into memory first
+        try (InputStream in = documentStorage.open(storedPath)) {
+            return Loader.loadPDF(new RandomAccessReadBuffer(in));
+        }
+    }
+
+    private BufferedImage readImage(String storedPath, int width) throws IOException {
+        try (InputStream in = documentStorage.open(storedPath);
+                ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageIn);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageIn, true, true);
+                // Subsample while decoding so large photos never get fully decoded into memory
+                int subsampling = Math.max(1, reader.getWidth(0) / (width * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source, int width) {
+        int targetWidth = Math.min(width, source.getWidth());
+        int targetHeight = Math.max(1, Math.round(source.getHeight() * (targetWidth / (float) source.getWidth())));
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, targetWidth, targetHeight);
+            g.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private byte[] toJpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private String extension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,53 +1,80 @@
 package com.tili.backend.service;
 
 import com.tili.backend.dto.DocumentDTO;
+import com.tili.backend.dto.RecentActivityDTO;
 import com.tili.backend.entity.Document;
 import com.tili.backend.entity.Project;
 import com.tili.backend.entity.User;
 import com.tili.backend.enums.DocumentType;
+import com.tili.backend.event.DashboardChangeEvent;
 import com.tili.backend.repository.DocumentRepository;
 import com.tili.backend.repository.ProjectRepository;
 import com.tili.backend.repository.UserRepository;
+import com.tili.backend.storage.DocumentStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.attribute.FileTime;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @Service
 public class DocumentService {
 
+    private static final Logger log = LoggerFactory.getLogger(DocumentService.class);
+
     @Autowired
     private DocumentRepository documentRepository;
     @Autowired
     private UserRepository userRepository;
     @Autowired
     private ProjectRepository projectRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private DocumentStorage documentStorage;
+    @Autowired
+    private ProjectStatsService projectStatsService;
 
-    private final Path rootLocation = Paths.get("uploads");
-
+    @Transactional
     public DocumentDTO uploadDocument(String title, DocumentType type, String userId, String projectId,
             MultipartFile file) throws IOException {
-        // Ensure upload directory exists
-        if (!Files.exists(rootLocation)) {
-            Files.createDirectories(rootLocation);
+        String filePath;
+        try (InputStream content = file.getInputStream()) {
+            filePath = documentStorage.store(file.getOriginalFilename(), content);
         }
+        return createDocument(title, type, userId, projectId, filePath);
+    }
 
-        String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-        Path destinationFile = this.rootLocation.resolve(Paths.get(fileName)).normalize().toAbsolutePath();
-        file.transferTo(destinationFile);
-
+    /** Registers a file that is already in storage as a new document. */
+    @Transactional
+    public DocumentDTO createDocument(String title, DocumentType type, String userId, String projectId,
+            String filePath) {
         Document doc = new Document();
         doc.setTitre(title);
         doc.setDocumentType(type);
-        doc.setFilePath(destinationFile.toString());
+        doc.setFilePath(filePath);
         doc.setCreatedAt(LocalDateTime.now());
 
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
@@ -59,13 +86,125 @@ public class DocumentService {
         }
 
         Document saved = documentRepository.save(doc);
+        if (saved.getProject() != null) {
+            projectStatsService.documentAdded(saved.getProject().getId(), type);
+        }
+
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        deltas.put("totalDocuments", 1L);
+        if (type != null) {
+            deltas.put("documentsByType." + type.name(), 1L);
+        }
+        eventPublisher.publishEvent(new DashboardChangeEvent(deltas,
+                new RecentActivityDTO(saved.getId(), user.getName(), "Uploaded a document", saved.getTitre(), "just now")));
         return mapToDTO(saved);
     }
 
+    @Transactional(readOnly = true)
     public List<DocumentDTO> getAllDocuments() {
         return documentRepository.findAll().stream().map(this::mapToDTO).collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public String getDocumentFileName(String id) {
+        Document doc = documentRepository.findById(id).orElseThrow(() -> new RuntimeException("Document not found"));
+        return documentStorage.originalFileName(doc.getFilePath());
+    }
+
+    public void writeDocument(String id, OutputStream out) throws IOException {
+        Document doc = documentRepository.findById(id).orElseThrow(() -> new RuntimeException("Document not found"));
+        documentRepository.touchIfStale(doc);
+        try (InputStream in = documentStorage.open(doc.getFilePath())) {
+            in.transferTo(out);
+        }
+    }
+
+    public void writeProjectArchive(String projectId, OutputStream out) throws IOException {
+        if (!projectRepository.existsById(projectId)) {
+            throw new RuntimeException("Project not found");
+        }
+        List<Document> documents = documentRepository.findByProjectId(projectId);
+
+        // Entries are streamed straight from disk to the response, one file at a time
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        Set<String> usedNames = new HashSet<>();
+        List<Document> missing = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        List<String> read = new ArrayList<>();
+        for (Document doc : documents) {
+            if (doc.getFilePath() == null || !documentStorage.exists(doc.getFilePath())) {
+                log.warn("Document {} has no file at {}; left out of the archive of project {}",
+                        doc.getId(), doc.getFilePath(), projectId);
+                missing.add(doc);
+                continue;
+            }
+            String entryName = uniqueEntryName(documentStorage.originalFileName(doc.getFilePath()), usedNames);
+            ZipEntry entry = new ZipEntry(entryName);
+            if (doc.getCreatedAt() != null) {
+                entry.setLastModifiedTime(FileTime.from(doc.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant()));
+            }
+            if (documentStorage.isCompressedFormat(entryName)) {
+                // STORED entries need their size and CRC in the header, so the file is read twice
+                storedEntry(entry, doc.getFilePath());
+            }
+            zip.putNextEntry(entry);
+            try (InputStream in = documentStorage.open(doc.getFilePath())) {
+                in.transferTo(zip);
+            }
+            zip.closeEntry();
+            if (DocumentRepository.needsTouch(doc, now)) {
+                read.add(doc.getId());
+            }
+        }
+        if (!read.isEmpty()) {
+            documentRepository.touchAll(read, now);
+        }
+        if (!missing.isEmpty()) {
+            zip.putNextEntry(new ZipEntry(uniqueEntryName("MISSING_FILES.txt", usedNames)));
+            StringBuilder manifest = new StringBuilder("These documents have no stored file and are not included:\n");
+            for (Document doc : missing) {
+                manifest.append(doc.getId()).append('\t').append(doc.getTitre()).append('\n');
+            }
+            zip.write(manifest.toString().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    private void storedEntry(ZipEntry entry, String storedPath) throws IOException {
+        CRC32 crc = new CRC32();
+        long size = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = documentStorage.open(storedPath)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+                size += read;
+            }
+        }
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(size);
+        entry.setCompressedSize(size);
+        entry.setCrc(crc.getValue());
+    }
+
+    private String uniqueEntryName(String name, Set<String> usedNames) {
+        String candidate = name;
+        int counter = 1;
+        while (!usedNames.add(candidate)) {
+            String ext = extension(name);
+            String base = ext.isEmpty() ? name : name.substring(0, name.length() - ext.length() - 1);
+            candidate = base + " (" + counter++ + ")" + (ext.isEmpty() ? "" : "." + ext);
+        }
+        return candidate;
+    }
+
+    private String extension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
     private DocumentDTO mapToDTO(Document doc) {
         DocumentDTO dto = new DocumentDTO();
         dto.setId(doc.getId());
@@ -0,0 +1,107 @@
+package com.tili.backend.service;
+
+import com.tili.backend.enums.ProjectStatus;
+import com.tili.backend.repository.DocumentFileRef;
+import com.tili.backend.repository.DocumentRepository;
+import com.tili.backend.storage.DocumentStorage;
+import com.tili.backend.storage.StorageMaintenanceExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves documents that have not been read for {@code tili.storage.cold-after-days}, or that belong
+ * to a closed project, from the hot tier to the compressed cold tier.
+ */
+@Service
+public class DocumentTieringService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentTieringService.class);
+    private static final int BATCH_SIZE = 200;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+    @Autowired
+    private DocumentStorage documentStorage;
+    @Autowired
+    private StorageMaintenanceExecutor storageMaintenanceExecutor;
+
+    @Value("${tili.storage.cold-after-days:180}")
+    private int coldAfterDays;
+
+    @Scheduled(cron = "${tili.storage.tiering-cron:0 30 2 * * *}")
+    public void scheduledMoveColdDocuments() {
+        storageMaintenanceExecutor.submit("cold storage tiering", this::moveColdDocuments);
+    }
+
+    public void moveColdDocuments() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(coldAfterDays);
+        String coldPrefix = documentStorage.coldTierPrefix();
+        String afterId = "";
+        int moved = 0;
+        int failed = 0;
+
+        List<DocumentFileRef> batch;
+        do {
+            batch = documentRepository.findColdCandidates(afterId, coldPrefix, cutoff, ProjectStatus.CLOTURE,
+                    PageRequest.of(0, BATCH_SIZE));
+            for (DocumentFileRef ref : batch) {
+                afterId = ref.getId();
+                if (moveToCold(ref)) {
+                    moved++;
+                } else {
+                    failed++;
+                }
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        if (moved > 0 || failed > 0) {
+            log.info("Cold storage tiering moved {} documents, {} failed", moved, failed);
+        }
+    }
+
+    private boolean moveToCold(DocumentFileRef ref) {
+        String hotPath = ref.getFilePath();
+        if (hotPath == null || documentStorage.isCold(hotPath) || !documentStorage.exists(hotPath)) {
+            return false;
+        }
+        String coldPath;
+        try {
+            coldPath = documentStorage.copyToCold(hotPath);
+        } catch (IOException e) {
+            log.warn("Could not move document {} to cold storage", ref.getId(), e);
+            return false;
+        }
+
+        // Only switch the row if nobody changed it meanwhile; readers keep using the hot copy until then
+        int updated;
+        try {
+            updated = documentRepository.updateFilePath(ref.getId(), hotPath, coldPath);
+        } catch (RuntimeException e) {
+            log.warn("Could not update path of document {}", ref.getId(), e);
+            updated = 0;
+        }
+        if (updated != 1) {
+            deleteQuietly(coldPath);
+            return false;
+        }
+        deleteQuietly(hotPath);
+        return true;
+    }
+
+    private void deleteQuietly(String path) {
+        try {
+            documentStorage.delete(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.tili.backend.service;
+
+import com.tili.backend.event.MeetingScheduleEvent;
+import com.tili.backend.reminder.ReminderSender;
+import com.tili.backend.reminder.TimingWheel;
+import com.tili.backend.repository.MeetingRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends meeting reminders at the configured offsets before each meeting. Pending reminders live in
+ * memory on a {@link TimingWheel}: they are loaded once at startup and then follow meeting creates
+ * and reschedules, so no query runs while waiting however many meetings are upcoming. Whether the
+ * meeting still takes place at that time is checked when a reminder comes due.
+ */
+@Service
+@ConditionalOnProperty(name = "tili.reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class MeetingReminderService {
+
+    private static final Logger log = LoggerFactory.getLogger(MeetingReminderService.class);
+    private static final int WHEEL_SIZE = 60;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired(required = false)
+    private List<ReminderSender> senders = List.of();
+
+    @Value("${tili.reminders.offsets-minutes:1440,60,10}")
+    private List<Long> offsetsMinutes;
+    @Value("${tili.reminders.tick-ms:1000}")
+    private long tickMs;
+
+    private final ConcurrentHashMap<String, ScheduledMeeting> scheduled = new ConcurrentHashMap<>();
+    private TimingWheel<Reminder> wheel;
+    private ScheduledExecutorService ticker;
+    private final ExecutorService dispatcher = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "meeting-reminder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void start() {
+        // Largest offset first, so the last timeout of a meeting is its final reminder
+        offsetsMinutes = offsetsMinutes.stream()
+                .filter(minutes -> minutes > 0)
+                .distinct()
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        wheel = new TimingWheel<>(tickMs, WHEEL_SIZE, System.currentTimeMillis());
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "meeting-reminder-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadUpcomingMeetings() {
+        List<Object[]> upcoming = meetingRepository.findScheduleAfter(LocalDateTime.now());
+        for (Object[] row : upcoming) {
+            LocalDateTime date = (LocalDateTime) row[1];
+            // An event received meanwhile is newer than this snapshot and wins
+            scheduled.computeIfAbsent((String) row[0], id -> schedule(id, date));
+        }
+        log.info("Scheduled reminders for {} upcoming meetings ({} pending)", upcoming.size(), wheel.pendingCount());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMeetingSchedule(MeetingScheduleEvent event) {
+        scheduled.compute(event.getMeetingId(), (id, existing) -> {
+            if (existing != null) {
+                if (event.getDate() != null && event.getDate().equals(existing.date())) {
+                    // e.g. only the title changed; the reminders read it when they fire
+                    return existing;
+                }
+                existing.cancel();
+            }
+            return event.getDate() != null ? schedule(id, event.getDate()) : null;
+        });
+    }
+
+    public int getPendingCount() {
+        return wheel.pendingCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+
+    private ScheduledMeeting schedule(String meetingId, LocalDateTime date) {
+        long meetingAt = date.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long now = System.currentTimeMillis();
+        List<TimingWheel.Timeout<Reminder>> timeouts = new ArrayList<>();
+        for (long minutes : offsetsMinutes) {
+            long fireAt = meetingAt - TimeUnit.MINUTES.toMillis(minutes);
+            // Reminders whose time has passed are skipped rather than sent late
+            if (fireAt > now) {
+                timeouts.add(wheel.schedule(new Reminder(meetingId, date, minutes), fireAt));
+            }
+        }
+        return timeouts.isEmpty() ? null : new ScheduledMeeting(date, timeouts);
+    }
+
+    private void tick() {
+        try {
+            for (Reminder reminder : wheel.advanceTo(System.currentTimeMillis())) {
+                dispatcher.execute(() -> deliver(reminder));
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the fixed-rate task and stop every future reminder
+            log.error("Meeting reminder tick failed", e);
+        }
+    }
+
+    private void deliver(Reminder reminder) {
+        scheduled.computeIfPresent(reminder.meetingId(), (id, current) -> current.isLast(reminder) ? null : current);
+        try {
+            notificationService.recordMeetingReminder(reminder.meetingId(), reminder.date(), reminder.minutesBefore())
+                    .ifPresent(meetingReminder -> {
+                        for (ReminderSender sender : senders) {
+                            try {
+                                sender.send(meetingReminder);
+                            } catch (RuntimeException e) {
+                                log.warn("Reminder sender {} failed for meeting {}",
+                                        sender.getClass().getSimpleName(), reminder.meetingId(), e);
+                            }
+                        }
+                    });
+        } catch (RuntimeException e) {
+            log.error("Could not record reminder for meeting {}", reminder.meetingId(), e);
+        }
+    }
+
+    private record Reminder(String meetingId, LocalDateTime date, long minutesBefore) {
+    }
+
+    private record ScheduledMeeting(LocalDateTime date, List<TimingWheel.Timeout<Reminder>> timeouts) {
+
+        void cancel() {
+            timeouts.forEach(TimingWheel.Timeout::cancel);
+        }
+
+        boolean isLast(Reminder reminder) {
+            // Same instance, not record equality: a reminder of an earlier schedule with the same
+            // date and offset must not end the tracking of this one
+            return !timeouts.isEmpty() && timeouts.get(timeouts.size() - 1).getValue() == reminder;
+        }
+    }
+}
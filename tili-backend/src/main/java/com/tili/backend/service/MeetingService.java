@@ -1,14 +1,26 @@
 package com.tili.backend.service;
 
 import com.tili.backend.dto.MeetingDTO;
+import com.tili.backend.dto.RecentActivityDTO;
 import com.tili.backend.entity.Meeting;
 import com.tili.backend.entity.Project;
+import com.tili.backend.entity.User;
+import com.tili.backend.event.DashboardChangeEvent;
+import com.tili.backend.event.MeetingScheduleEvent;
 import com.tili.backend.repository.MeetingRepository;
 import com.tili.backend.repository.ProjectRepository;
+import com.tili.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,9 +32,19 @@ public class MeetingService {
     @Autowired
     private ProjectRepository projectRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ProjectStatsService projectStatsService;
+
+    @Transactional
     public MeetingDTO createMeeting(MeetingDTO dto) {
         Meeting meeting = new Meeting();
-        meeting.setDate(dto.getDate());
+        meeting.setDate(toStoredPrecision(dto.getDate()));
         meeting.setSujet(dto.getTitle());
         meeting.setLocation(dto.getLocation());
 
@@ -30,17 +52,76 @@ public class MeetingService {
             Project p = projectRepository.findById(dto.getProjectId()).orElse(null);
             meeting.setProject(p);
         }
+        if (dto.getParticipantIds() != null) {
+            meeting.setParticipants(userRepository.findAllByIdOrThrow(dto.getParticipantIds()));
+        }
 
         Meeting saved = meetingRepository.save(meeting);
+        if (saved.getProject() != null) {
+            projectStatsService.meetingAdded(saved.getProject().getId(), saved.getDate());
+        }
+        eventPublisher.publishEvent(new DashboardChangeEvent(Map.of("totalMeetings", 1L),
+                new RecentActivityDTO(saved.getId(), null, "Created a meeting", saved.getSujet(), "just now")));
+        eventPublisher.publishEvent(new MeetingScheduleEvent(saved.getId(), saved.getDate()));
         return mapToDTO(saved);
     }
 
+    @Transactional
+    public MeetingDTO updateMeeting(String id, MeetingDTO dto) {
+        Meeting meeting = meetingRepository.findById(id).orElseThrow(() -> new RuntimeException("Meeting not found"));
+        String oldProjectId = meeting.getProject() != null ? meeting.getProject().getId() : null;
+        LocalDateTime oldDate = meeting.getDate();
+
+        if (dto.getDate() != null) {
+            meeting.setDate(toStoredPrecision(dto.getDate()));
+        }
+        if (dto.getTitle() != null) {
+            meeting.setSujet(dto.getTitle());
+        }
+        if (dto.getLocation() != null) {
+            meeting.setLocation(dto.getLocation());
+        }
+        if (dto.getProjectId() != null && !dto.getProjectId().equals(oldProjectId)) {
+            meeting.setProject(projectRepository.findById(dto.getProjectId()).orElse(null));
+        }
+        if (dto.getParticipantIds() != null) {
+            meeting.setParticipants(userRepository.findAllByIdOrThrow(dto.getParticipantIds()));
+        }
+
+        String newProjectId = meeting.getProject() != null ? meeting.getProject().getId() : null;
+        if (!Objects.equals(oldProjectId, newProjectId) || !Objects.equals(oldDate, meeting.getDate())) {
+            if (oldProjectId != null) {
+                projectStatsService.meetingRemoved(oldProjectId, oldDate);
+            }
+            if (newProjectId != null) {
+                projectStatsService.meetingAdded(newProjectId, meeting.getDate());
+            }
+        }
+        if (!Objects.equals(oldDate, meeting.getDate())) {
+            eventPublisher.publishEvent(new MeetingScheduleEvent(meeting.getId(), meeting.getDate()));
+        }
+        return mapToDTO(meeting);
+    }
+
+    @Transactional(readOnly = true)
     public List<MeetingDTO> getAllMeetings() {
         return meetingRepository.findAll().stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public List<MeetingDTO> getMeetingsForUser(String userId) {
+        return meetingRepository.findByParticipantsId(userId).stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // The column keeps whole seconds; dropping the fraction here keeps events and responses equal to the row
+    private LocalDateTime toStoredPrecision(LocalDateTime date) {
+        return date != null ? date.truncatedTo(ChronoUnit.SECONDS) : null;
+    }
+
     private MeetingDTO mapToDTO(Meeting meeting) {
         MeetingDTO dto = new MeetingDTO();
         dto.setId(meeting.getId());
@@ -54,7 +135,11 @@ public class MeetingService {
             dto.setTime(String.format("%02d:%02d AM", meeting.getDate().getHour(), meeting.getDate().getMinute()));
         }
 
-        dto.setParticipants(java.util.List.of("Alice", "Bob")); // Mock participants
+        List<User> participants = meeting.getParticipants().stream()
+                .sorted(Comparator.comparing(User::getName, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+        dto.setParticipants(participants.stream().map(User::getName).collect(Collectors.toList()));
+        dto.setParticipantIds(participants.stream().map(User::getId).collect(Collectors.toList()));
         dto.setOnline(meeting.getLocation() != null && meeting.getLocation().toLowerCase().contains("http"));
 
         if (meeting.getProject() != null) {
@@ -0,0 +1,125 @@
+package com.tili.backend.service;
+
+import com.tili.backend.dto.NotificationDTO;
+import com.tili.backend.dto.UserDTO;
+import com.tili.backend.entity.Meeting;
+import com.tili.backend.entity.Notification;
+import com.tili.backend.entity.User;
+import com.tili.backend.reminder.MeetingReminder;
+import com.tili.backend.repository.MeetingRepository;
+import com.tili.backend.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+public class NotificationService {
+
+    private static final int MAX_FEED_SIZE = 200;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("dd/MM HH:mm");
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Transactional(readOnly = true)
+    public List<NotificationDTO> getFeed(String userId, int limit) {
+        return notificationRepository
+                .findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, Math.max(1, Math.min(limit, MAX_FEED_SIZE))))
+                .stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public long countUnread(String userId) {
+        return notificationRepository.countByUserIdAndReadAtIsNull(userId);
+    }
+
+    @Transactional
+    public void markRead(String notificationId) {
+        Notification notification = notificationRepository.findById(notificationId)
+                .orElseThrow(() -> new RuntimeException("Notification not found"));
+        if (notification.getReadAt() == null) {
+            notification.setReadAt(LocalDateTime.now());
+        }
+    }
+
+    @Transactional
+    public int markAllRead(String userId) {
+        return notificationRepository.markAllRead(userId, LocalDateTime.now());
+    }
+
+    /**
+     * Adds a reminder for the meeting to each participant's feed. Returns empty if the meeting was
+     * deleted or moved since the reminder was scheduled, so stale reminders are never delivered.
+     */
+    @Transactional
+    public Optional<MeetingReminder> recordMeetingReminder(String meetingId, LocalDateTime scheduledDate,
+            long minutesBefore) {
+        Meeting meeting = meetingRepository.findById(meetingId).orElse(null);
+        if (meeting == null || !sameSecond(scheduledDate, meeting.getDate())) {
+            return Optional.empty();
+        }
+
+        String message = "\"" + meeting.getSujet() + "\" starts in " + describe(minutesBefore)
+                + " (" + meeting.getDate().format(TIME_FORMAT)
+                + (meeting.getLocation() != null ? ", " + meeting.getLocation() : "") + ")";
+        List<UserDTO> recipients = new ArrayList<>();
+        List<Notification> notifications = new ArrayList<>();
+        for (User participant : meeting.getParticipants()) {
+            Notification notification = new Notification();
+            notification.setUserId(participant.getId());
+            notification.setMeetingId(meetingId);
+            notification.setMessage(message);
+            notifications.add(notification);
+
+            UserDTO recipient = new UserDTO();
+            recipient.setId(participant.getId());
+            recipient.setName(participant.getName());
+            recipient.setEmail(participant.getEmail());
+            recipient.setRole(participant.getRole());
+            recipients.add(recipient);
+        }
+        notificationRepository.saveAll(notifications);
+        return Optional.of(new MeetingReminder(meetingId, meeting.getSujet(), meeting.getLocation(),
+                meeting.getDate(), minutesBefore, message, recipients));
+    }
+
+    // MySQL datetime keeps whole seconds and rounds any fraction, so exact equality is too strict
+    private boolean sameSecond(LocalDateTime scheduled, LocalDateTime stored) {
+        return stored != null && Duration.between(scheduled, stored).abs().compareTo(Duration.ofSeconds(1)) < 0;
+    }
+
+    private String describe(long minutes) {
+        if (minutes % 1440 == 0) {
+            return minutes == 1440 ? "1 day" : minutes / 1440 + " days";
+        }
+        if (minutes % 60 == 0) {
+            return minutes == 60 ? "1 hour" : minutes / 60 + " hours";
+        }
+        return minutes == 1 ? "1 minute" : minutes + " minutes";
+    }
+
+    private NotificationDTO mapToDTO(Notification notification) {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setId(notification.getId());
+        dto.setUserId(notification.getUserId());
+        dto.setMeetingId(notification.getMeetingId());
+        dto.setMessage(notification.getMessage());
+        dto.setCreatedAt(notification.getCreatedAt());
+        dto.setRead(notification.getReadAt() != null);
+        return dto;
+    }
+}
@@ -0,0 +1,216 @@
+package com.tili.backend.service;
+
+import com.tili.backend.dto.ReconciliationReportDTO;
+import com.tili.backend.repository.DocumentFileRef;
+import com.tili.backend.repository.DocumentRepository;
+import com.tili.backend.storage.DocumentStorage;
+import com.tili.backend.storage.StorageMaintenanceExecutor;
+import com.tili.backend.storage.StoredFile;
+import com.tili.backend.storage.StoredPathOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Finds files in the upload directory that no document references (orphans) and documents whose
+ * file is missing (dangling rows). The directory tree and the filePath column are both consumed in
+ * sorted order and merged, so neither side is ever held in memory as a whole.
+ */
+@Service
+public class OrphanFileReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(OrphanFileReconciler.class);
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_IDS = 100;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+    @Autowired
+    private DocumentStorage documentStorage;
+    @Autowired
+    private StorageMaintenanceExecutor storageMaintenanceExecutor;
+
+    @Value("${tili.storage.orphan-grace-hours:24}")
+    private long graceHours;
+    @Value("${tili.storage.reconcile-min-match-ratio:0.5}")
+    private double minMatchRatio;
+
+    private volatile ReconciliationReportDTO lastReport;
+
+    public ReconciliationReportDTO getLastReport() {
+        return lastReport;
+    }
+
+    @Scheduled(cron = "${tili.storage.reconcile-cron:0 0 3 * * *}")
+    public void scheduledReconcile() {
+        submit();
+    }
+
+    /** Queues a run on the storage maintenance thread, unless one is already queued or running. */
+    public void submit() {
+        storageMaintenanceExecutor.submit("orphan reconciliation", this::reconcile);
+    }
+
+    public synchronized ReconciliationReportDTO reconcile() {
+        ReconciliationReportDTO report = new ReconciliationReportDTO();
+        report.setStartedAt(LocalDateTime.now());
+        long start = System.currentTimeMillis();
+
+        // Counting pass first: after a remount at another path, or a database restored from an old
+        // dump, almost no row matches a file and the real pass would delete every file as an orphan
+        ReconciliationReportDTO dryRun = new ReconciliationReportDTO();
+        merge(dryRun, 0, false);
+        String abortReason = abortReason(dryRun);
+        if (abortReason != null) {
+            report.setScannedFiles(dryRun.getScannedFiles());
+            report.setScannedRows(dryRun.getScannedRows());
+            report.setMatchedRows(dryRun.getMatchedRows());
+            report.setAborted(true);
+            report.setAbortReason(abortReason);
+            report.setDurationMs(System.currentTimeMillis() - start);
+            log.error("Upload reconciliation aborted, nothing deleted: {}", abortReason);
+            lastReport = report;
+            return report;
+        }
+
+        merge(report, start - Duration.ofHours(graceHours).toMillis(), true);
+
+        report.setDurationMs(System.currentTimeMillis() - start);
+        log.info("Upload reconciliation: {} files, {} rows, {} orphans ({} deleted, {} bytes reclaimed, "
+                + "{} within grace period), {} dangling rows",
+                report.getScannedFiles(), report.getScannedRows(), report.getOrphanFiles(), report.getDeletedFiles(),
+                report.getReclaimedBytes(), report.getSkippedRecentFiles(), report.getDanglingRows());
+        lastReport = report;
+        return report;
+    }
+
+    private String abortReason(ReconciliationReportDTO counts) {
+        if (counts.getScannedRows() == 0) {
+            return counts.getScannedFiles() > 0
+                    ? counts.getScannedFiles() + " files but no document rows; is this the right database?"
+                    : null;
+        }
+        double matched = counts.getMatchedRows() / (double) counts.getScannedRows();
+        if (matched < minMatchRatio) {
+            return String.format(Locale.ROOT, "only %d of %d documents (%.0f%%) have their file under the storage "
+                    + "root, below tili.storage.reconcile-min-match-ratio=%s; is the root mounted at the right path?",
+                    counts.getMatchedRows(), counts.getScannedRows(), matched * 100, minMatchRatio);
+        }
+        return null;
+    }
+
+    /**
+     * Walks files and rows side by side. Both sides come in {@link StoredPathOrder}, the order of the
+     * filePath column's utf8mb4_bin collation, so equal paths meet and anything else is on one side only.
+     * Without {@code apply} it only counts.
+     */
+    private void merge(ReconciliationReportDTO report, long graceCutoff, boolean apply) {
+        Iterator<StoredFile> files = documentStorage.listFiles();
+        RowIterator rows = new RowIterator();
+        StoredFile file = files.hasNext() ? files.next() : null;
+        DocumentFileRef row = rows.hasNext() ? rows.next() : null;
+
+        while (file != null || row != null) {
+            int cmp = file == null ? 1 : row == null ? -1 : StoredPathOrder.INSTANCE.compare(file.path(), row.getFilePath());
+            if (cmp == 0) {
+                String matched = file.path();
+                report.setScannedFiles(report.getScannedFiles() + 1);
+                file = files.hasNext() ? files.next() : null;
+                // Several rows may share a path
+                while (row != null && StoredPathOrder.INSTANCE.compare(matched, row.getFilePath()) == 0) {
+                    report.setScannedRows(report.getScannedRows() + 1);
+                    report.setMatchedRows(report.getMatchedRows() + 1);
+                    row = rows.hasNext() ? rows.next() : null;
+                }
+            } else if (cmp < 0) {
+                report.setScannedFiles(report.getScannedFiles() + 1);
+                if (apply) {
+                    handleOrphan(file, graceCutoff, report);
+                }
+                file = files.hasNext() ? files.next() : null;
+            } else {
+                report.setScannedRows(report.getScannedRows() + 1);
+                if (apply) {
+                    handleUnmatchedRow(row, report);
+                }
+                row = rows.hasNext() ? rows.next() : null;
+            }
+        }
+    }
+
+    private void handleOrphan(StoredFile file, long graceCutoff, ReconciliationReportDTO report) {
+        // The merge sees rows as they were when their batch was read. A document inserted, or switched
+        // to a new tier, after that would look like an orphan, and deleting its file loses data for
+        // good, so the indexed point lookup is the last check before any delete. It runs only for
+        // orphan candidates and compares with the column's own collation.
+        if (documentRepository.existsByFilePath(file.path())) {
+            return;
+        }
+        report.setOrphanFiles(report.getOrphanFiles() + 1);
+        // Young files may belong to an upload or a tier move whose row is not committed yet
+        if (file.lastModified() > graceCutoff) {
+            report.setSkippedRecentFiles(report.getSkippedRecentFiles() + 1);
+            return;
+        }
+        try {
+            documentStorage.delete(file.path());
+            report.setDeletedFiles(report.getDeletedFiles() + 1);
+            report.setReclaimedBytes(report.getReclaimedBytes() + file.size());
+        } catch (IOException e) {
+            log.warn("Could not delete orphan file {}", file.path(), e);
+        }
+    }
+
+    private void handleUnmatchedRow(DocumentFileRef row, ReconciliationReportDTO report) {
+        // Rows pointing outside the scanned tree are only dangling if the file is really gone
+        if (row.getFilePath() != null && documentStorage.exists(row.getFilePath())) {
+            return;
+        }
+        report.setDanglingRows(report.getDanglingRows() + 1);
+        if (report.getDanglingDocumentIds().size() < MAX_REPORTED_IDS) {
+            report.getDanglingDocumentIds().add(row.getId());
+        }
+    }
+
+    /** Pages through the filePath column in {@link StoredPathOrder}, the order of its utf8mb4_bin collation. */
+    private class RowIterator implements Iterator<DocumentFileRef> {
+        private Iterator<DocumentFileRef> batch = List.<DocumentFileRef>of().iterator();
+        private String afterPath = "";
+        private String afterId = "";
+        private boolean exhausted;
+
+        @Override
+        public boolean hasNext() {
+            while (!batch.hasNext() && !exhausted) {
+                List<DocumentFileRef> rows = documentRepository.findFilePathsAfter(afterPath, afterId, BATCH_SIZE);
+                exhausted = rows.size() < BATCH_SIZE;
+                if (!rows.isEmpty()) {
+                    DocumentFileRef last = rows.get(rows.size() - 1);
+                    afterPath = last.getFilePath();
+                    afterId = last.getId();
+                }
+                batch = rows.iterator();
+            }
+            return batch.hasNext();
+        }
+
+        @Override
+        public DocumentFileRef next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.next();
+        }
+    }
+}
@@ -1,12 +1,25 @@
 package com.tili.backend.service;
 
 import com.tili.backend.dto.ProjectDTO;
+import com.tili.backend.dto.RecentActivityDTO;
 import com.tili.backend.entity.Project;
+import com.tili.backend.entity.ProjectStats;
+import com.tili.backend.entity.User;
+import com.tili.backend.enums.ProjectStatus;
+import com.tili.backend.event.DashboardChangeEvent;
 import com.tili.backend.repository.ProjectRepository;
+import com.tili.backend.repository.ProjectStatsRepository;
+import com.tili.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -15,37 +28,93 @@ public class ProjectService {
     @Autowired
     private ProjectRepository projectRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ProjectStatsRepository projectStatsRepository;
+
+    @Autowired
+    private ProjectStatsService projectStatsService;
+
+    @Transactional
     public ProjectDTO createProject(ProjectDTO dto) {
         Project project = new Project();
         project.setName(dto.getTitle());
         project.setStartDate(dto.getStartDate());
         project.setEndDate(dto.getEndDate());
+        if (dto.getMemberIds() != null) {
+            project.setMembers(userRepository.findAllByIdOrThrow(dto.getMemberIds()));
+        }
 
         Project saved = projectRepository.save(project);
-        return mapToDTO(saved);
+        ProjectStats stats = projectStatsService.projectCreated(saved);
+
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        deltas.put("totalProjects", 1L);
+        if (saved.getStatut() == ProjectStatus.ACTIVE) {
+            deltas.put("activeProjects", 1L);
+        } else if (saved.getStatut() == ProjectStatus.CLOTURE) {
+            deltas.put("closedProjects", 1L);
+        }
+        eventPublisher.publishEvent(new DashboardChangeEvent(deltas,
+                new RecentActivityDTO(saved.getId(), null, "Created a project", saved.getName(), "just now")));
+        return mapToDTO(saved, stats);
     }
 
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getAllProjects() {
-        return projectRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return mapToDTOs(projectRepository.findAll());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectDTO> getProjectsForUser(String userId) {
+        return mapToDTOs(projectRepository.findByMembersId(userId));
     }
 
+    @Transactional(readOnly = true)
     public ProjectDTO getProjectById(String id) {
         return projectRepository.findById(id)
-                .map(this::mapToDTO)
+                .map(project -> mapToDTO(project, projectStatsRepository.findById(id).orElse(null)))
                 .orElseThrow(() -> new RuntimeException("Project not found"));
     }
 
-    private ProjectDTO mapToDTO(Project project) {
+    // Stats for the whole list come from one query; Project has no stats association to fetch per row
+    private List<ProjectDTO> mapToDTOs(List<Project> projects) {
+        Map<String, ProjectStats> statsById = projectStatsRepository
+                .findAllById(projects.stream().map(Project::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(ProjectStats::getProjectId, Function.identity()));
+        return projects.stream()
+                .map(project -> mapToDTO(project, statsById.get(project.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private ProjectDTO mapToDTO(Project project, ProjectStats stats) {
         ProjectDTO dto = new ProjectDTO();
         dto.setId(project.getId());
         dto.setTitle(project.getName());
         dto.setStatus(project.getStatut() != null ? project.getStatut().name() : "Planning");
-        dto.setTeam(java.util.List.of("Alice", "Bob")); // Mock team
+        List<User> members = project.getMembers().stream()
+                .sorted(Comparator.comparing(User::getName, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+        dto.setTeam(members.stream().map(User::getName).collect(Collectors.toList()));
+        dto.setMemberIds(members.stream().map(User::getId).collect(Collectors.toList()));
         dto.setDeadline(project.getEndDate() != null ? project.getEndDate().toString() : "TBD");
         dto.setStartDate(project.getStartDate());
         dto.setEndDate(project.getEndDate());
+
+        Map<String, Long> documentsByType = projectStatsService.documentsByType(stats);
+        dto.setDocumentsByType(documentsByType);
+        dto.setDocumentCount(documentsByType.values().stream().mapToLong(Long::longValue).sum());
+        if (stats != null) {
+            dto.setMeetingsHeld(stats.getMeetingsHeld());
+            dto.setMeetingsUpcoming(stats.getMeetingsUpcoming());
+            dto.setLastActivityAt(stats.getLastActivityAt());
+        }
         return dto;
     }
 
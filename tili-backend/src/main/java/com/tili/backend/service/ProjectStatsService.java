@@ -0,0 +1,217 @@
+package com.tili.backend.service;
+
+import com.tili.backend.entity.AppSetting;
+import com.tili.backend.entity.Project;
+import com.tili.backend.entity.ProjectStats;
+import com.tili.backend.enums.DocumentType;
+import com.tili.backend.repository.AppSettingRepository;
+import com.tili.backend.repository.DocumentRepository;
+import com.tili.backend.repository.MeetingRepository;
+import com.tili.backend.repository.ProjectRepository;
+import com.tili.backend.repository.ProjectStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains {@link ProjectStats}. The increment methods join the caller's transaction, so the
+ * counters commit or roll back together with the write they describe.
+ *
+ * <p>Meetings up to the rollover watermark count as held, later ones as upcoming. The watermark is a
+ * row in {@code app_setting}: writers hold a shared lock on it and the rollover an exclusive one, so
+ * every instance classifies a meeting the same way and a rollover after downtime catches up.
+ */
+@Service
+public class ProjectStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectStatsService.class);
+    static final String ROLLOVER_WATERMARK = "projectStats.rolledOverTo";
+
+    @Autowired
+    private ProjectStatsRepository projectStatsRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private DocumentRepository documentRepository;
+    @Autowired
+    private MeetingRepository meetingRepository;
+    @Autowired
+    private AppSettingRepository appSettingRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public ProjectStats projectCreated(Project project) {
+        ProjectStats stats = new ProjectStats(project);
+        stats.setLastActivityAt(LocalDateTime.now());
+        return projectStatsRepository.save(stats);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void documentAdded(String projectId, DocumentType type) {
+        ProjectStats stats = lockOrCreate(projectId);
+        if (type != null) {
+            switch (type) {
+                case RAPPORT -> stats.setRapportCount(stats.getRapportCount() + 1);
+                case COMPTE_RENDU -> stats.setCompteRenduCount(stats.getCompteRenduCount() + 1);
+                case ADMINISTRATIF -> stats.setAdministratifCount(stats.getAdministratifCount() + 1);
+                case PROJET -> stats.setProjetCount(stats.getProjetCount() + 1);
+            }
+        }
+        stats.setLastActivityAt(LocalDateTime.now());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void meetingAdded(String projectId, LocalDateTime date) {
+        LocalDateTime heldUntil = date != null ? sharedWatermark() : null;
+        ProjectStats stats = lockOrCreate(projectId);
+        if (date != null) {
+            if (date.isAfter(heldUntil)) {
+                stats.setMeetingsUpcoming(stats.getMeetingsUpcoming() + 1);
+            } else {
+                stats.setMeetingsHeld(stats.getMeetingsHeld() + 1);
+            }
+        }
+        stats.setLastActivityAt(LocalDateTime.now());
+    }
+
+    /** Undoes {@link #meetingAdded} when a meeting moves to another date or project. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void meetingRemoved(String projectId, LocalDateTime date) {
+        if (date == null) {
+            return;
+        }
+        LocalDateTime heldUntil = sharedWatermark();
+        projectStatsRepository.findForUpdate(projectId).ifPresent(stats -> {
+            if (date.isAfter(heldUntil)) {
+                stats.setMeetingsUpcoming(Math.max(0, stats.getMeetingsUpcoming() - 1));
+            } else {
+                stats.setMeetingsHeld(Math.max(0, stats.getMeetingsHeld() - 1));
+            }
+        });
+    }
+
+    public Map<String, Long> documentsByType(ProjectStats stats) {
+        Map<String, Long> byType = new LinkedHashMap<>();
+        byType.put(DocumentType.RAPPORT.name(), stats != null ? stats.getRapportCount() : 0);
+        byType.put(DocumentType.COMPTE_RENDU.name(), stats != null ? stats.getCompteRenduCount() : 0);
+        byType.put(DocumentType.ADMINISTRATIF.name(), stats != null ? stats.getAdministratifCount() : 0);
+        byType.put(DocumentType.PROJET.name(), stats != null ? stats.getProjetCount() : 0);
+        return byType;
+    }
+
+    /** Moves meetings whose start time has passed since the last rollover, by any instance, from upcoming to held. */
+    @Scheduled(fixedDelayString = "${tili.project-stats.rollover-ms:300000}")
+    @Transactional
+    public void rollOverMeetings() {
+        LocalDateTime to = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        AppSetting watermark = appSettingRepository.findForUpdate(ROLLOVER_WATERMARK).orElse(null);
+        if (watermark == null) {
+            // First run ever: nothing has been counted against an older watermark yet
+            appSettingRepository.save(new AppSetting(ROLLOVER_WATERMARK, to.toString()));
+            return;
+        }
+        LocalDateTime from = LocalDateTime.parse(watermark.getValue());
+        if (!to.isAfter(from)) {
+            return;
+        }
+        for (Object[] row : meetingRepository.countHeldBetweenByProject(from, to)) {
+            projectStatsRepository.rollOverMeetings((String) row[0], (Long) row[1], (LocalDateTime) row[2]);
+        }
+        watermark.setValue(to.toString());
+    }
+
+    /**
+     * Recomputes every project's counters from the document and meeting tables. Each project is
+     * rebuilt in its own transaction with its stats row locked, so concurrent increments either
+     * commit before the recount sees their rows or wait and apply on top of it.
+     */
+    @Scheduled(cron = "${tili.project-stats.rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        int corrected = 0;
+        List<String> projectIds = projectRepository.findAllIds();
+        for (String projectId : projectIds) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> rebuildProject(projectId)))) {
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            log.info("Project stats rebuild corrected {} of {} projects", corrected, projectIds.size());
+        }
+    }
+
+    private boolean rebuildProject(String projectId) {
+        // Both locks are taken before the first plain read, so the counts below see every write
+        // that committed before them and none that is still waiting for the locks
+        LocalDateTime heldUntil = sharedWatermark();
+        boolean created = !projectStatsRepository.existsById(projectId);
+        ProjectStats stats = lockOrCreate(projectId);
+
+        ProjectStats fresh = new ProjectStats();
+        fresh.setProjectId(projectId);
+        for (Object[] row : documentRepository.summarizeByTypeForProject(projectId)) {
+            if (row[0] == null) {
+                continue;
+            }
+            long count = (Long) row[1];
+            switch ((DocumentType) row[0]) {
+                case RAPPORT -> fresh.setRapportCount(count);
+                case COMPTE_RENDU -> fresh.setCompteRenduCount(count);
+                case ADMINISTRATIF -> fresh.setAdministratifCount(count);
+                case PROJET -> fresh.setProjetCount(count);
+            }
+            fresh.setLastActivityAt(latest(fresh.getLastActivityAt(), (LocalDateTime) row[2]));
+        }
+        for (Object[] row : meetingRepository.summarizeForProject(projectId, heldUntil)) {
+            fresh.setMeetingsHeld(row[0] != null ? ((Number) row[0]).longValue() : 0);
+            fresh.setMeetingsUpcoming(row[1] != null ? ((Number) row[1]).longValue() : 0);
+            fresh.setLastActivityAt(latest(fresh.getLastActivityAt(), (LocalDateTime) row[2]));
+        }
+        // Activity that leaves no trace in the tables (e.g. meeting creation) is kept
+        fresh.setLastActivityAt(latest(fresh.getLastActivityAt(), stats.getLastActivityAt()));
+
+        if (fresh.equals(stats)) {
+            return created;
+        }
+        stats.setRapportCount(fresh.getRapportCount());
+        stats.setCompteRenduCount(fresh.getCompteRenduCount());
+        stats.setAdministratifCount(fresh.getAdministratifCount());
+        stats.setProjetCount(fresh.getProjetCount());
+        stats.setMeetingsHeld(fresh.getMeetingsHeld());
+        stats.setMeetingsUpcoming(fresh.getMeetingsUpcoming());
+        stats.setLastActivityAt(fresh.getLastActivityAt());
+        return true;
+    }
+
+    /** The rollover watermark, share-locked until the current transaction ends. */
+    private LocalDateTime sharedWatermark() {
+        // Before the first rollover has run there is no row; nothing is held back by it then
+        return appSettingRepository.findForShare(ROLLOVER_WATERMARK)
+                .map(setting -> LocalDateTime.parse(setting.getValue()))
+                .orElseGet(LocalDateTime::now);
+    }
+
+    private ProjectStats lockOrCreate(String projectId) {
+        return projectStatsRepository.findForUpdate(projectId)
+                .orElseGet(() -> projectStatsRepository.save(
+                        new ProjectStats(projectRepository.getReferenceById(projectId))));
+    }
+
+    private LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+}
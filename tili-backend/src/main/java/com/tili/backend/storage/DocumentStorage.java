@@ -0,0 +1,61 @@
+package com.tili.backend.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Where document files live. New files go to the hot tier; rarely used ones can be moved to the
+ * cold tier, where they may be stored compressed. Callers only keep the returned path
+ * ({@code Document.filePath}) and always read through {@link #open(String)}.
+ */
+public interface DocumentStorage {
+
+    String store(String originalFilename, InputStream content) throws IOException;
+
+    /** Moves a finished file (e.g. an assembled chunked upload) into the hot tier. */
+    String importFile(String originalFilename, Path source) throws IOException;
+
+    /** Opens the file for reading, transparently decompressing cold-tier files. */
+    InputStream open(String storedPath) throws IOException;
+
+    boolean exists(String storedPath);
+
+    boolean isCold(String storedPath);
+
+    /**
+     * Copies the file into the cold tier and returns its new path. The hot copy is left in place
+     * until the caller has switched the document over and deletes it.
+     */
+    String copyToCold(String storedPath) throws IOException;
+
+    void delete(String storedPath) throws IOException;
+
+    /** Identifies the stored content: unchanged by tier moves, different for every stored file. */
+    String contentKey(String storedPath);
+
+    /** True for formats that are already compressed (PDF, Office, images), judged by extension. */
+    boolean isCompressedFormat(String fileName);
+
+    /** The name the file was uploaded with, without the storage prefix and suffix. */
+    String originalFileName(String storedPath);
+
+    /**
+     * The last element of a client-supplied file name, which may be a full path with either
+     * separator, or null when there is none (e.g. "/", "..", "dir/").
+     */
+    static String baseName(String fileName) {
+        if (fileName == null || fileName.indexOf('\0') >= 0) {
+            return null;
+        }
+        String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1).trim();
+        return name.isEmpty() || name.equals(".") || name.equals("..") ? null : name;
+    }
+
+    /** Prefix shared by every cold-tier path, so queries can leave cold documents out. */
+    String coldTierPrefix();
+
+    /** Every stored file of both tiers, in ascending {@link StoredPathOrder} of their stored path. */
+    Iterator<StoredFile> listFiles();
+}
@@ -0,0 +1,179 @@
+package com.tili.backend.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local-disk storage with {@code hot/} and {@code cold/} tiers under the upload root. Files are
+ * sharded into two levels of subdirectories taken from the start of their UUID prefix
+ * ({@code hot/3f/a2/3fa2..._report.docx}) so no directory grows to hundreds of thousands of entries.
+ */
+@Component
+public class FileSystemDocumentStorage implements DocumentStorage {
+
+    static final String COMPRESSED_SUFFIX = ".cold.gz";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Keeps root + tier + shard + UUID + name + cold suffix well inside document.filePath (512)
+    private static final int MAX_NAME_LENGTH = 120;
+
+    // Formats that are already compressed; compressing them again only burns CPU
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "pdf", "docx", "xlsx", "pptx", "odt", "ods", "odp", "zip", "7z", "rar", "gz",
+            "jpg", "jpeg", "png", "gif", "webp", "mp4", "mp3");
+
+    private final Path root;
+    private final Path hotRoot;
+    private final Path coldRoot;
+
+    public FileSystemDocumentStorage(@Value("${tili.storage.root:uploads}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.hotRoot = this.root.resolve("hot");
+        this.coldRoot = this.root.resolve("cold");
+    }
+
+    @Override
+    public boolean isCompressedFormat(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 && COMPRESSED_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private Path newHotFile(String originalFilename) throws IOException {
+        String safeName = Objects.requireNonNullElse(DocumentStorage.baseName(originalFilename), "file");
+        String fileName = UUID.randomUUID() + "_" + shorten(safeName);
+        Path directory = shardDirectory(hotRoot, fileName);
+        Files.createDirectories(directory);
+        return directory.resolve(fileName);
+    }
+
+    @Override
+    public String store(String originalFilename, InputStream content) throws IOException {
+        Path target = newHotFile(originalFilename);
+        Files.copy(content, target);
+        return target.toString();
+    }
+
+    @Override
+    public String importFile(String originalFilename, Path source) throws IOException {
+        Path target = newHotFile(originalFilename);
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Different file system: falls back to copy and delete
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return target.toString();
+    }
+
+    @Override
+    public InputStream open(String storedPath) throws IOException {
+        Path path = Paths.get(storedPath);
+        InputStream in = Files.newInputStream(path);
+        if (isCold(storedPath) && storedPath.endsWith(COMPRESSED_SUFFIX)) {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+        return new BufferedInputStream(in, BUFFER_SIZE);
+    }
+
+    @Override
+    public boolean exists(String storedPath) {
+        return Files.isReadable(Paths.get(storedPath));
+    }
+
+    @Override
+    public boolean isCold(String storedPath) {
+        return Paths.get(storedPath).toAbsolutePath().normalize().startsWith(coldRoot);
+    }
+
+    @Override
+    public String copyToCold(String storedPath) throws IOException {
+        Path source = Paths.get(storedPath);
+        String fileName = source.getFileName().toString();
+        boolean compress = !isCompressedFormat(fileName);
+        Path directory = shardDirectory(coldRoot, fileName);
+        Files.createDirectories(directory);
+        Path target = directory.resolve(compress ? fileName + COMPRESSED_SUFFIX : fileName);
+
+        // Write to a temp name first so a crash never leaves a truncated file at the final path
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        if (compress) {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_SIZE)) {
+                Files.copy(source, out);
+            }
+        } else {
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return target.toString();
+    }
+
+    @Override
+    public void delete(String storedPath) throws IOException {
+        Files.deleteIfExists(Paths.get(storedPath));
+    }
+
+    @Override
+    public String contentKey(String storedPath) {
+        String name = Paths.get(storedPath).getFileName().toString();
+        return name.endsWith(COMPRESSED_SUFFIX) ? name.substring(0, name.length() - COMPRESSED_SUFFIX.length()) : name;
+    }
+
+    @Override
+    public String originalFileName(String storedPath) {
+        String name = Paths.get(storedPath).getFileName().toString();
+        if (isCold(storedPath) && name.endsWith(COMPRESSED_SUFFIX)) {
+            name = name.substring(0, name.length() - COMPRESSED_SUFFIX.length());
+        }
+        // Stored files are named "<uuid>_<original name>"
+        int separator = name.indexOf('_');
+        return separator == 36 ? name.substring(37) : name;
+    }
+
+    @Override
+    public String coldTierPrefix() {
+        return coldRoot.toString();
+    }
+
+    @Override
+    public Iterator<StoredFile> listFiles() {
+        if (!Files.isDirectory(root)) {
+            return Collections.emptyIterator();
+        }
+        // Caches and temp areas under the root (previews, upload sessions) are not documents
+        return new SortedFileIterator(root, Set.of("hot", "cold"));
+    }
+
+    // Cuts the base name, never the extension, which decides compression and the download type
+    private static String shorten(String name) {
+        if (name.length() <= MAX_NAME_LENGTH) {
+            return name;
+        }
+        int dot = name.lastIndexOf('.');
+        String extension = dot > 0 && name.length() - dot <= 10 ? name.substring(dot) : "";
+        return name.substring(0, MAX_NAME_LENGTH - extension.length()) + extension;
+    }
+
+    private Path shardDirectory(Path tier, String fileName) {
+        String key = fileName.length() >= 4 && fileName.substring(0, 4).matches("[0-9a-fA-F]{4}")
+                ? fileName.substring(0, 4).toLowerCase(Locale.ROOT)
+                : String.format("%04x", fileName.hashCode() & 0xffff);
+        return tier.resolve(key.substring(0, 2)).resolve(key.substring(2, 4));
+    }
+}
@@ -0,0 +1,163 @@
+package com.tili.backend.storage;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded LRU cache of generated previews: an on-disk tier under {@code tili.preview.cache-dir}
+ * plus a small in-memory hot set. Disk recency survives restarts through file modification times.
+ */
+@Component
+public class PreviewCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PreviewCache.class);
+
+    private final Path directory;
+    private final long maxDiskBytes;
+    private final long maxMemoryBytes;
+
+    // Both maps are access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Long> diskEntries = new LinkedHashMap<>(256, 0.75f, true);
+    private final LinkedHashMap<String, byte[]> memoryEntries = new LinkedHashMap<>(64, 0.75f, true);
+    private long diskBytes;
+    private long memoryBytes;
+
+    public PreviewCache(@Value("${tili.preview.cache-dir:uploads/previews}") String directory,
+            @Value("${tili.preview.cache-max-mb:512}") long maxDiskMb,
+            @Value("${tili.preview.memory-max-mb:32}") long maxMemoryMb) {
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.maxDiskBytes = maxDiskMb * 1024 * 1024;
+        this.maxMemoryBytes = maxMemoryMb * 1024 * 1024;
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().endsWith(".tmp"))
+                    .sorted(Comparator.comparing(this::lastModified))
+                    .toList();
+        }
+        synchronized (this) {
+            for (Path file : files) {
+                long size = Files.size(file);
+                diskEntries.put(file.getFileName().toString(), size);
+                diskBytes += size;
+            }
+        }
+        evictDisk();
+    }
+
+    public byte[] get(String key) {
+        synchronized (this) {
+            byte[] hot = memoryEntries.get(key);
+            if (hot != null) {
+                return hot;
+            }
+            if (diskEntries.get(key) == null) {
+                return null;
+            }
+        }
+        Path file = directory.resolve(key);
+        byte[] data;
+        try {
+            data = Files.readAllBytes(file);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (NoSuchFileException e) {
+            removeDiskEntry(key);
+            return null;
+        } catch (IOException e) {
+            log.warn("Could not read cached preview {}", key, e);
+            return null;
+        }
+        putInMemory(key, data);
+        return data;
+    }
+
+    public void put(String key, byte[] data) {
+        Path file = directory.resolve(key);
+        Path temp = directory.resolve(key + ".tmp");
+        try {
+            Files.write(temp, data);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Could not cache preview {}", key, e);
+            return;
+        }
+        synchronized (this) {
+            Long previous = diskEntries.put(key, (long) data.length);
+            diskBytes += data.length - (previous != null ? previous : 0);
+        }
+        putInMemory(key, data);
+        evictDisk();
+    }
+
+    private synchronized void putInMemory(String key, byte[] data) {
+        if (data.length > maxMemoryBytes) {
+            return;
+        }
+        byte[] previous = memoryEntries.put(key, data);
+        memoryBytes += data.length - (previous != null ? previous.length : 0);
+        Iterator<Map.Entry<String, byte[]>> it = memoryEntries.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && it.hasNext()) {
+            memoryBytes -= it.next().getValue().length;
+            it.remove();
+        }
+    }
+
+    private synchronized void removeDiskEntry(String key) {
+        Long size = diskEntries.remove(key);
+        if (size != null) {
+            diskBytes -= size;
+        }
+    }
+
+    private void evictDisk() {
+        List<String> victims = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Map.Entry<String, Long>> it = diskEntries.entrySet().iterator();
+            while (diskBytes > maxDiskBytes && it.hasNext()) {
+                Map.Entry<String, Long> eldest = it.next();
+                diskBytes -= eldest.getValue();
+                victims.add(eldest.getKey());
+                it.remove();
+            }
+        }
+        // Deleted outside the lock; a reader racing with this just sees a miss
+        for (String key : victims) {
+            try {
+                Files.deleteIfExists(directory.resolve(key));
+            } catch (IOException e) {
+                log.warn("Could not evict cached preview {}", key, e);
+            }
+        }
+    }
+
+    private FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
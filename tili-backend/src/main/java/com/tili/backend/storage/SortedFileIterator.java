@@ -0,0 +1,84 @@
+package com.tili.backend.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Depth-first walk that yields regular files in {@link StoredPathOrder} of their full path. Siblings
+ * are sorted with a trailing separator on directory names, which makes the per-directory order agree
+ * with the order of the full paths. Only one directory listing per level is held at a time.
+ */
+class SortedFileIterator implements Iterator<StoredFile> {
+    private final Path root;
+    private final Set<String> scannedDirectories;
+    private final Deque<Iterator<Path>> stack = new ArrayDeque<>();
+    private StoredFile next;
+
+    /** Walks {@code root}, descending only into the named top-level directories. */
+    SortedFileIterator(Path root, Set<String> scannedDirectories) {
+        this.root = root;
+        this.scannedDirectories = scannedDirectories;
+        stack.push(sortedChildren(root));
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !stack.isEmpty()) {
+            Iterator<Path> level = stack.peek();
+            if (!level.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            Path path = level.next();
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (attributes.isDirectory()) {
+                    if (!path.getParent().equals(root) || scannedDirectories.contains(path.getFileName().toString())) {
+                        stack.push(sortedChildren(path));
+                    }
+                } else if (attributes.isRegularFile() && !path.getFileName().toString().endsWith(".tmp")) {
+                    next = new StoredFile(path.toString(), attributes.size(), attributes.lastModifiedTime().toMillis());
+                }
+            } catch (IOException e) {
+                // Deleted while walking
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public StoredFile next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        StoredFile current = next;
+        next = null;
+        return current;
+    }
+
+    private static Iterator<Path> sortedChildren(Path directory) {
+        String separator = directory.getFileSystem().getSeparator();
+        try (Stream<Path> listing = Files.list(directory)) {
+            return listing
+                    .map(child -> Map.entry(Files.isDirectory(child)
+                            ? child.getFileName() + separator
+                            : child.getFileName().toString(), child))
+                    .sorted(Map.Entry.comparingByKey(StoredPathOrder.INSTANCE))
+                    .map(Map.Entry::getValue)
+                    .toList()
+                    .iterator();
+        } catch (IOException e) {
+            return Collections.emptyIterator();
+        }
+    }
+}
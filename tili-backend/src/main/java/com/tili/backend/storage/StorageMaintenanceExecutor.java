@@ -0,0 +1,51 @@
+package com.tili.backend.storage;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs long storage jobs (tiering, orphan reconciliation) one at a time on their own thread, so they
+ * never hold the shared scheduler thread that health checks and heartbeats depend on. A job that is
+ * still queued or running is not submitted a second time.
+ */
+@Component
+public class StorageMaintenanceExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageMaintenanceExecutor.class);
+
+    private final Set<String> activeJobs = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "storage-maintenance");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public void submit(String name, Runnable job) {
+        if (!activeJobs.add(name)) {
+            log.info("Skipping {}: the previous run has not finished", name);
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                job.run();
+            } catch (RuntimeException e) {
+                log.error("Storage job {} failed", name, e);
+            } finally {
+                activeJobs.remove(name);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,5 @@
+package com.tili.backend.storage;
+
+/** A file found in storage by {@link DocumentStorage#listFiles()}; {@code path} is its stored path. */
+public record StoredFile(String path, long size, long lastModified) {
+}
@@ -0,0 +1,46 @@
+package com.tili.backend.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+
+/**
+ * The order MySQL's {@code utf8mb4_bin} collation gives {@code document.filePath}: unsigned UTF-8
+ * bytes, which is code point order, with PAD SPACE semantics (the shorter value compares as if
+ * padded with spaces, so trailing spaces are ignored). {@link String#compareTo} compares UTF-16
+ * units instead and disagrees for characters outside the BMP, so any code that merges the file tree
+ * with rows from that column must use this order on both sides.
+ */
+public final class StoredPathOrder implements Comparator<String> {
+
+    public static final StoredPathOrder INSTANCE = new StoredPathOrder();
+
+    private static final int PAD = ' ';
+
+    private StoredPathOrder() {
+    }
+
+    @Override
+    public int compare(String a, String b) {
+        byte[] left = a.getBytes(StandardCharsets.UTF_8);
+        byte[] right = b.getBytes(StandardCharsets.UTF_8);
+        int common = Math.min(left.length, right.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Integer.compare(left[i] & 0xff, right[i] & 0xff);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        // The longer value is compared with the padding of the shorter one
+        for (int i = common; i < left.length; i++) {
+            if ((left[i] & 0xff) != PAD) {
+                return (left[i] & 0xff) < PAD ? -1 : 1;
+            }
+        }
+        for (int i = common; i < right.length; i++) {
+            if ((right[i] & 0xff) != PAD) {
+                return (right[i] & 0xff) < PAD ? 1 : -1;
+            }
+        }
+        return 0;
+    }
+}
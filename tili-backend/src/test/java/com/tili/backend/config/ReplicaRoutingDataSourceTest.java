@@ -0,0 +1,148 @@
+package com.tili.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Two independent H2 databases stand in for the primary and the replica; each holds a single row
+ * naming itself, so a query shows which one a transaction was routed to.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReadYourWritesTracker tracker;
+
+    @BeforeEach
+    void createDatabases() {
+        primary = database("primary");
+        replica = database("replica");
+        tracker = new ReadYourWritesTracker(60000);
+    }
+
+    @AfterEach
+    void unbindClient() {
+        tracker.unbind();
+    }
+
+    @Test
+    void readOnlyTransactionGoesToReplica() {
+        Routing routing = routing("");
+        assertThat(routing.read()).isEqualTo("replica");
+    }
+
+    @Test
+    void writeTransactionGoesToPrimary() {
+        Routing routing = routing("");
+        assertThat(routing.write()).isEqualTo("primary");
+    }
+
+    @Test
+    void readAfterOwnWriteStaysOnPrimary() {
+        Routing routing = routing("");
+        tracker.bind("alice");
+        routing.write();
+        assertThat(routing.read()).isEqualTo("primary");
+
+        tracker.bind("bob");
+        assertThat(routing.read()).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinTheClientToPrimary() {
+        Routing routing = routing("");
+        tracker.bind("alice");
+        routing.writeAndRollBack();
+        assertThat(routing.read()).isEqualTo("replica");
+    }
+
+    @Test
+    void readYourWritesWindowMayNotBeShorterThanTheLagLimit() {
+        ReadReplicaConfig config = new ReadReplicaConfig();
+        assertThatThrownBy(() -> config.readYourWritesTracker(5000, 10))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(config.readYourWritesTracker(-1, 10)).isNotNull();
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        Routing routing = routing("SELECT 60 AS Seconds_Behind_Source");
+        routing.dataSource.checkReplica();
+        assertThat(routing.dataSource.isReplicaAvailable()).isFalse();
+        assertThat(routing.read()).isEqualTo("primary");
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimaryAndRecovers() {
+        Routing routing = routing("SELECT * FROM missing_table");
+        routing.dataSource.checkReplica();
+        assertThat(routing.read()).isEqualTo("primary");
+
+        new JdbcTemplate(replica).execute("CREATE TABLE missing_table (id INT)");
+        routing.dataSource.checkReplica();
+        assertThat(routing.read()).isEqualTo("replica");
+    }
+
+    private Routing routing(String lagQuery) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replica, tracker, 10, lagQuery);
+        routingDataSource.afterPropertiesSet();
+        return new Routing(routingDataSource);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE whoami (name VARCHAR(20))");
+        jdbc.update("INSERT INTO whoami VALUES (?)", name);
+        return dataSource;
+    }
+
+    // Wired like ReadReplicaConfig: the lazy proxy lets the read-only flag be set before routing
+    private static class Routing {
+        private final ReplicaRoutingDataSource dataSource;
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate readTransaction;
+        private final TransactionTemplate writeTransaction;
+
+        Routing(ReplicaRoutingDataSource dataSource) {
+            this.dataSource = dataSource;
+            DataSource proxy = new LazyConnectionDataSourceProxy(dataSource);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(proxy);
+            this.jdbc = new JdbcTemplate(proxy);
+            this.readTransaction = new TransactionTemplate(transactionManager);
+            this.readTransaction.setReadOnly(true);
+            this.writeTransaction = new TransactionTemplate(transactionManager);
+        }
+
+        String read() {
+            return readTransaction.execute(status -> jdbc.queryForObject("SELECT name FROM whoami", String.class));
+        }
+
+        String write() {
+            return writeTransaction.execute(status -> {
+                jdbc.update("UPDATE whoami SET name = name");
+                return jdbc.queryForObject("SELECT name FROM whoami", String.class);
+            });
+        }
+
+        void writeAndRollBack() {
+            writeTransaction.executeWithoutResult(status -> {
+                jdbc.update("UPDATE whoami SET name = name");
+                status.setRollbackOnly();
+            });
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.tili.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.RegexPatternTypeFilter;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TiliRuntimeHintsTest {
+
+    @Test
+    void everyDtoIsRegisteredForReflection() {
+        RuntimeHints hints = new RuntimeHints();
+        new TiliRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new RegexPatternTypeFilter(Pattern.compile(".*")));
+        List<String> dtos = scanner.findCandidateComponents("com.tili.backend.dto").stream()
+                .map(definition -> definition.getBeanClassName())
+                .toList();
+
+        assertThat(dtos).isNotEmpty().allSatisfy(dto ->
+                assertThat(RuntimeHintsPredicates.reflection().onType(
+                        TypeReference.of(dto))).accepts(hints));
+    }
+}
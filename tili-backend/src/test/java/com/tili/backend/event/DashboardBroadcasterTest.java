@@ -0,0 +1,120 @@
+package com.tili.backend.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardBroadcasterTest {
+
+    private DashboardBroadcaster broadcaster;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void createBroadcaster() {
+        broadcaster = new DashboardBroadcaster();
+        ReflectionTestUtils.setField(broadcaster, "objectMapper", new ObjectMapper());
+    }
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void clientsBeyondTheSenderThreadsWaitTheirTurnInsteadOfBeingDropped() throws InterruptedException {
+        AtomicInteger sendsStarted = new AtomicInteger();
+        CountDownLatch delivered = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            broadcaster.subscribe(new RecordingEmitter(() -> {
+                sendsStarted.incrementAndGet();
+                await(release);
+                delivered.countDown();
+            }));
+        }
+
+        broadcaster.heartbeat();
+
+        // Every sender thread is now stuck in a slow (but healthy) write
+        waitUntil(() -> sendsStarted.get() >= 8);
+        assertThat(broadcaster.getClientCount()).isEqualTo(100);
+
+        release.countDown();
+        assertThat(delivered.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(broadcaster.getClientCount()).isEqualTo(100);
+    }
+
+    @Test
+    void onlyTheClientWhoseQueueOverflowsIsDropped() throws InterruptedException {
+        RecordingEmitter stuck = new RecordingEmitter(() -> await(release));
+        AtomicInteger healthyReceived = new AtomicInteger();
+        RecordingEmitter healthy = new RecordingEmitter(healthyReceived::incrementAndGet);
+        broadcaster.subscribe(stuck);
+        broadcaster.subscribe(healthy);
+
+        // One message in the blocked write, 32 queued, the next one overflows; the healthy client
+        // keeps up, so its own queue never fills
+        for (int i = 1; i <= 40; i++) {
+            broadcaster.heartbeat();
+            int sent = i;
+            waitUntil(() -> healthyReceived.get() == sent);
+        }
+
+        assertThat(stuck.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(broadcaster.getClientCount()).isEqualTo(1);
+        assertThat(healthy.completed.getCount()).isEqualTo(1);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Emitter whose writes run {@code onSend} instead of touching a response. */
+    private static class RecordingEmitter extends SseEmitter {
+        private final Runnable onSend;
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        RecordingEmitter(Runnable onSend) {
+            this.onSend = onSend;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            onSend.run();
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+            super.complete();
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            completed.countDown();
+            super.completeWithError(ex);
+        }
+    }
+}
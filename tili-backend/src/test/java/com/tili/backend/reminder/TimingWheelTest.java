@@ -0,0 +1,128 @@
+package com.tili.backend.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the wheel by hand. With 10 ms ticks and 4 slots, level 0 covers 40 ms ahead, level 1
+ * (40 ms ticks) 160 ms and level 2 (160 ms ticks) 640 ms, so the boundaries are easy to hit exactly.
+ */
+class TimingWheelTest {
+
+    private static final long TICK = 10;
+    private static final int SLOTS = 4;
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(TICK, SLOTS, 0);
+
+    @Test
+    void deadlinesInTheSameTickFireTogetherAtTheTickBoundary() {
+        wheel.schedule("a", 11);
+        wheel.schedule("b", 20);
+        wheel.schedule("c", 21);
+
+        assertThat(wheel.advanceTo(19)).isEmpty();
+        assertThat(wheel.advanceTo(20)).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.advanceTo(29)).isEmpty();
+        assertThat(wheel.advanceTo(30)).containsExactly("c");
+        assertThat(wheel.pendingCount()).isZero();
+    }
+
+    @Test
+    void deadlinesOnLevelBoundariesFireExactlyOnTime() {
+        // 39 is the last time level 0 holds, 40 the first on level 1; 159/160 likewise for level 2
+        for (long deadline : new long[] { 39, 40, 159, 160, 640 }) {
+            wheel.schedule("at " + deadline, deadline);
+        }
+
+        Map<Long, List<String>> fired = advanceByTick(700);
+
+        assertThat(fired).containsExactly(
+                Map.entry(40L, List.of("at 39", "at 40")),
+                Map.entry(160L, List.of("at 159", "at 160")),
+                Map.entry(640L, List.of("at 640")));
+    }
+
+    @Test
+    void entriesCascadeFromLevelTwoThroughLevelOne() {
+        // Level 2 at first; moved to level 1 at 320, to level 0 at 400, due at 410
+        wheel.schedule("late", 410);
+
+        assertThat(wheel.advanceTo(319)).isEmpty();
+        assertThat(wheel.advanceTo(320)).isEmpty();
+        assertThat(wheel.advanceTo(400)).isEmpty();
+        assertThat(wheel.pendingCount()).isEqualTo(1);
+        assertThat(wheel.advanceTo(409)).isEmpty();
+        assertThat(wheel.advanceTo(410)).containsExactly("late");
+    }
+
+    @Test
+    void largeJumpsFireEverythingDueInOneCall() {
+        wheel.schedule("level 0", 25);
+        wheel.schedule("level 1", 130);
+        wheel.schedule("level 2", 600);
+        wheel.schedule("later", 5000);
+
+        assertThat(wheel.advanceTo(600)).containsExactly("level 0", "level 1", "level 2");
+        assertThat(wheel.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledBeforeCascadingNeverFires() {
+        TimingWheel.Timeout<String> timeout = wheel.schedule("cancelled", 410);
+        wheel.schedule("kept", 410);
+        timeout.cancel();
+
+        assertThat(wheel.advanceTo(1000)).containsExactly("kept");
+        assertThat(wheel.pendingCount()).isZero();
+    }
+
+    @Test
+    void cancelledAfterCascadingNeverFires() {
+        TimingWheel.Timeout<String> timeout = wheel.schedule("cancelled", 410);
+        wheel.advanceTo(400);
+        timeout.cancel();
+
+        assertThat(wheel.advanceTo(1000)).isEmpty();
+        assertThat(wheel.pendingCount()).isZero();
+    }
+
+    @Test
+    void overdueDeadlinesFireOnTheNextAdvance() {
+        wheel.advanceTo(100);
+        wheel.schedule("past", 50);
+        wheel.schedule("now", 100);
+        wheel.schedule("within the current tick", 105);
+        wheel.schedule("next tick", 110);
+
+        assertThat(wheel.pendingCount()).isEqualTo(4);
+        assertThat(wheel.advanceTo(100)).containsExactly("past", "now");
+        assertThat(wheel.advanceTo(110)).containsExactly("within the current tick", "next tick");
+    }
+
+    @Test
+    void startTimeIsRoundedDownToATick() {
+        TimingWheel<String> started = new TimingWheel<>(TICK, SLOTS, 1005);
+        started.schedule("a", 1010);
+
+        assertThat(started.advanceTo(1009)).isEmpty();
+        assertThat(started.advanceTo(1010)).containsExactly("a");
+    }
+
+    private Map<Long, List<String>> advanceByTick(long until) {
+        Map<Long, List<String>> fired = new LinkedHashMap<>();
+        for (long now = 0; now <= until; now++) {
+            List<String> due = new ArrayList<>(wheel.advanceTo(now));
+            if (!due.isEmpty()) {
+                due.sort(null);
+                fired.put(now, due);
+            }
+        }
+        return fired;
+    }
+}
@@ -0,0 +1,289 @@
+package com.tili.backend.service;
+
+import com.tili.backend.dto.DocumentDTO;
+import com.tili.backend.dto.UploadSessionDTO;
+import com.tili.backend.entity.UploadSession;
+import com.tili.backend.repository.ProjectRepository;
+import com.tili.backend.repository.UploadSessionRepository;
+import com.tili.backend.repository.UserRepository;
+import com.tili.backend.storage.FileSystemDocumentStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the service against a real session directory and document storage, with sessions kept in
+ * memory by a mocked repository.
+ */
+class ChunkedUploadServiceTest {
+
+    private static final int CHUNK = 256 * 1024; // the minimum chunk size
+    private static final int TOTAL = 3 * CHUNK + 1000;
+
+    @TempDir
+    Path tempDir;
+
+    private final UploadSessionRepository sessionRepository = mock(UploadSessionRepository.class);
+    private final DocumentService documentService = mock(DocumentService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final ChunkedUploadService service = new ChunkedUploadService();
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicReference<String> documentPath = new AtomicReference<>();
+    private final byte[] content = new byte[TOTAL];
+
+    @BeforeEach
+    void wire() throws IOException {
+        ReflectionTestUtils.setField(service, "uploadSessionRepository", sessionRepository);
+        ReflectionTestUtils.setField(service, "documentService", documentService);
+        ReflectionTestUtils.setField(service, "documentStorage",
+                new FileSystemDocumentStorage(tempDir.resolve("storage").toString()));
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "projectRepository", projectRepository);
+        ReflectionTestUtils.setField(service, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(service, "sessionDirectory", tempDir.resolve("sessions").toString());
+        ReflectionTestUtils.setField(service, "defaultChunkSizeMb", 8);
+        ReflectionTestUtils.setField(service, "maxSizeMb", 16L);
+        ReflectionTestUtils.setField(service, "sessionTtlHours", 24L);
+        service.init();
+
+        when(userRepository.existsById(anyString())).thenReturn(true);
+        when(sessionRepository.save(any())).thenAnswer(invocation -> {
+            UploadSession session = invocation.getArgument(0);
+            session.ensureId();
+            sessions.put(session.getId(), session);
+            return session;
+        });
+        when(sessionRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(sessions.get(invocation.<String>getArgument(0))));
+        when(sessionRepository.findForUpdate(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(sessions.get(invocation.<String>getArgument(0))));
+        when(sessionRepository.existsById(anyString()))
+                .thenAnswer(invocation -> sessions.containsKey(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> sessions.remove(invocation.<UploadSession>getArgument(0).getId()))
+                .when(sessionRepository).delete(any());
+        doAnswer(invocation -> sessions.remove(invocation.<String>getArgument(0)))
+                .when(sessionRepository).deleteById(anyString());
+        when(documentService.createDocument(any(), any(), any(), any(), anyString())).thenAnswer(invocation -> {
+            documentPath.set(invocation.getArgument(4));
+            return new DocumentDTO();
+        });
+
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+    }
+
+    @Test
+    void fileNameIsReducedToItsLastElement() throws IOException {
+        assertThat(createSession("C:\\Users\\me\\plans.pdf").getFileName()).isEqualTo("plans.pdf");
+        assertThat(createSession("../../etc/plans.pdf").getFileName()).isEqualTo("plans.pdf");
+        for (String noName : List.of("/", "..", "docs/", "")) {
+            assertThatThrownBy(() -> createSession(noName)).hasMessage("userId and fileName are required");
+        }
+    }
+
+    @Test
+    void writeChunkRejectsOffsetsOffTheChunkGrid() throws IOException {
+        String id = createSession("plans.pdf").getId();
+
+        for (long offset : new long[] { -CHUNK, 1, CHUNK + 1, TOTAL, 4L * CHUNK }) {
+            assertThatThrownBy(() -> writeChunk(id, offset))
+                    .hasMessage("Offset must be a multiple of the chunk size within the file");
+        }
+        assertThat(service.getSession(id).getReceivedChunks()).isZero();
+    }
+
+    @Test
+    void writeChunkRejectsWrongChunkSizes() throws IOException {
+        String id = createSession("plans.pdf").getId();
+
+        assertThatThrownBy(() -> service.writeChunk(id, 0, new ByteArrayInputStream(new byte[CHUNK + 1])))
+                .hasMessage("Chunk is larger than " + CHUNK + " bytes");
+        assertThatThrownBy(() -> service.writeChunk(id, 3L * CHUNK, new ByteArrayInputStream(new byte[999])))
+                .hasMessage("Incomplete chunk: received 999 of 1000 bytes");
+        assertThat(service.getSession(id).getReceivedChunks()).isZero();
+    }
+
+    @Test
+    void sessionReportsWhereToResume() throws IOException {
+        String id = createSession("plans.pdf").getId();
+
+        writeChunk(id, 0);
+        writeChunk(id, 2L * CHUNK);
+        UploadSessionDTO afterRetry = writeChunk(id, 0);
+
+        UploadSessionDTO session = service.getSession(id);
+        assertThat(session.getTotalChunks()).isEqualTo(4);
+        assertThat(session.getReceivedChunks()).isEqualTo(2);
+        assertThat(session.getReceivedOffset()).isEqualTo(CHUNK);
+        assertThat(session.getMissingChunks()).containsExactly(1, 3);
+        assertThat(afterRetry.getMissingChunks()).isEqualTo(session.getMissingChunks());
+
+        writeChunk(id, CHUNK);
+        writeChunk(id, 3L * CHUNK);
+        session = service.getSession(id);
+        assertThat(session.getReceivedOffset()).isEqualTo(TOTAL);
+        assertThat(session.getMissingChunks()).isEmpty();
+    }
+
+    @Test
+    void completeRefusesMissingChunksAndCanBeRetried() throws IOException {
+        String id = createSession("plans.pdf").getId();
+        writeChunk(id, 0);
+        writeChunk(id, CHUNK);
+        writeChunk(id, 2L * CHUNK);
+
+        assertThatThrownBy(() -> service.complete(id)).hasMessage("Upload is missing chunks");
+
+        writeChunk(id, 3L * CHUNK);
+        AtomicInteger attempts = new AtomicInteger();
+        when(documentService.createDocument(any(), any(), any(), any(), anyString())).thenAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new RuntimeException("Database unavailable");
+            }
+            documentPath.set(invocation.getArgument(4));
+            return new DocumentDTO();
+        });
+
+        // The file goes back to the session, which is open again for a retry
+        assertThatThrownBy(() -> service.complete(id)).hasMessage("Database unavailable");
+        assertThat(sessions.get(id).isCompleted()).isFalse();
+        assertThat(service.getSession(id).getMissingChunks()).isEmpty();
+
+        service.complete(id);
+        assertThat(Files.readAllBytes(Path.of(documentPath.get()))).isEqualTo(content);
+        assertThat(sessions).doesNotContainKey(id);
+        assertThatThrownBy(() -> service.complete(id)).hasMessage("Upload session not found");
+    }
+
+    @Test
+    void completeWaitsForChunksInProgress() throws Exception {
+        String id = createSession("plans.pdf").getId();
+        writeChunk(id, 0);
+        writeChunk(id, CHUNK);
+        writeChunk(id, 2L * CHUNK);
+
+        // The last chunk stalls halfway until released
+        CountDownLatch halfWritten = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        byte[] last = Arrays.copyOfRange(content, 3 * CHUNK, TOTAL);
+        InputStream stalling = new InputStream() {
+            private int position;
+
+            @Override
+            public int read() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                if (position == last.length) {
+                    return -1;
+                }
+                if (position == last.length / 2) {
+                    halfWritten.countDown();
+                    await(release);
+                }
+                int count = Math.min(length, (position < last.length / 2 ? last.length / 2 : last.length) - position);
+                System.arraycopy(last, position, buffer, offset, count);
+                position += count;
+                return count;
+            }
+        };
+        CompletableFuture<UploadSessionDTO> chunk = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.writeChunk(id, 3L * CHUNK, stalling);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        assertThat(halfWritten.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<DocumentDTO> completion = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.complete(id);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        Thread.sleep(200);
+        assertThat(completion).isNotDone();
+
+        release.countDown();
+        chunk.get(5, TimeUnit.SECONDS);
+        completion.get(5, TimeUnit.SECONDS);
+        assertThat(Files.readAllBytes(Path.of(documentPath.get()))).isEqualTo(content);
+    }
+
+    @Test
+    void abortDeletesTheSessionUnlessItIsBeingCompleted() throws IOException {
+        String id = createSession("plans.pdf").getId();
+        writeChunk(id, 0);
+        Path partFile = tempDir.resolve("sessions").resolve(id + ".part");
+        assertThat(partFile).exists();
+
+        sessions.get(id).setCompleted(true);
+        assertThatThrownBy(() -> service.abort(id)).hasMessage("Upload session already completed");
+        assertThat(partFile).exists();
+
+        sessions.get(id).setCompleted(false);
+        service.abort(id);
+        assertThat(sessions).doesNotContainKey(id);
+        assertThat(partFile).doesNotExist();
+        assertThatThrownBy(() -> service.abort(id)).hasMessage("Upload session not found");
+    }
+
+    private UploadSessionDTO createSession(String fileName) throws IOException {
+        UploadSessionDTO dto = new UploadSessionDTO();
+        dto.setFileName(fileName);
+        dto.setUserId("user");
+        dto.setTotalSize(TOTAL);
+        dto.setChunkSize(CHUNK);
+        return service.createSession(dto);
+    }
+
+    private UploadSessionDTO writeChunk(String id, long offset) throws IOException {
+        int from = (int) Math.max(0, Math.min(offset, TOTAL));
+        int to = (int) Math.max(from, Math.min(offset + CHUNK, TOTAL));
+        return service.writeChunk(id, offset, new ByteArrayInputStream(Arrays.copyOfRange(content, from, to)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
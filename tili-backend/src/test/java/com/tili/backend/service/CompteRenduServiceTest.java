@@ -0,0 +1,89 @@
+package com.tili.backend.service;
+
+import com.tili.backend.dto.CompteRenduDTO;
+import com.tili.backend.entity.CompteRendu;
+import com.tili.backend.entity.Meeting;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(CompteRenduService.class)
+class CompteRenduServiceTest extends StatementCountingTest {
+
+    @Autowired
+    private CompteRenduService compteRenduService;
+
+    private Meeting meeting;
+
+    @BeforeEach
+    void createMeeting() {
+        meeting = new Meeting();
+        meeting.setSujet("Weekly");
+        meeting.setDate(LocalDateTime.now());
+        meeting = entityManager.persist(meeting);
+    }
+
+    @Test
+    void contentSurvivesTheGzipRoundTrip() {
+        String content = "Décisions — étape 2 ✓\n".repeat(200);
+        CompteRenduDTO created = compteRenduService.createCompteRendu(dto(content));
+        entityManager.flush();
+        entityManager.clear();
+
+        byte[] stored = entityManager.find(CompteRendu.class, created.getId()).getCompressedContent();
+        assertThat(stored).startsWith((byte) 0x1f, (byte) 0x8b);
+        assertThat(stored.length).isLessThan(content.length());
+
+        CompteRenduDTO loaded = compteRenduService.getCompteRenduById(created.getId());
+        assertThat(loaded.getContent()).isEqualTo(content);
+        assertThat(loaded.getContentLength()).isEqualTo(content.length());
+    }
+
+    @Test
+    void listingReadsSummariesWithoutLoadingTheEntity() {
+        for (int i = 0; i < 3; i++) {
+            compteRenduService.createCompteRendu(dto("Minutes " + i));
+        }
+
+        AtomicReference<Page<CompteRenduDTO>> page = new AtomicReference<>();
+        Statistics statistics = run(() -> page.set(compteRenduService.getCompteRendusByMeeting(meeting.getId(), 0, 20)));
+
+        assertThat(page.get().getContent()).hasSize(3)
+                .allSatisfy(summary -> {
+                    assertThat(summary.getContent()).isNull();
+                    assertThat(summary.getContentLength()).isEqualTo("Minutes 0".length());
+                });
+        // A projection never materialises CompteRendu, so the LOB column is not read
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void outOfRangePagingIsClamped() {
+        compteRenduService.createCompteRendu(dto("Minutes"));
+        compteRenduService.createCompteRendu(dto("More minutes"));
+
+        Page<CompteRenduDTO> page = compteRenduService.getCompteRendusByMeeting(meeting.getId(), -1, 0);
+
+        assertThat(page.getNumber()).isZero();
+        assertThat(page.getSize()).isEqualTo(1);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+
+        assertThat(compteRenduService.getCompteRendusByMeeting(meeting.getId(), 0, 10_000).getSize())
+                .isEqualTo(CompteRenduService.MAX_PAGE_SIZE);
+    }
+
+    private CompteRenduDTO dto(String content) {
+        CompteRenduDTO dto = new CompteRenduDTO();
+        dto.setMeetingId(meeting.getId());
+        dto.setContent(content);
+        return dto;
+    }
+}
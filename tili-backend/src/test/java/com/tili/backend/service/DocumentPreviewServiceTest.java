@@ -0,0 +1,98 @@
+package com.tili.backend.service;
+
+import com.tili.backend.entity.Document;
+import com.tili.backend.repository.DocumentRepository;
+import com.tili.backend.storage.DocumentStorage;
+import com.tili.backend.storage.PreviewCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DocumentPreviewServiceTest {
+
+    private final DocumentStorage storage = mock(DocumentStorage.class);
+    private final PreviewCache previewCache = mock(PreviewCache.class);
+    private final DocumentPreviewService previewService = new DocumentPreviewService();
+
+    @BeforeEach
+    void wire() {
+        ReflectionTestUtils.setField(previewService, "documentRepository", mock(DocumentRepository.class));
+        ReflectionTestUtils.setField(previewService, "documentStorage", storage);
+        ReflectionTestUtils.setField(previewService, "previewCache", previewCache);
+        when(storage.contentKey(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(storage.originalFileName(anyString())).thenReturn("photo.png");
+    }
+
+    @Test
+    void concurrentRequestsForTheSamePreviewShareOneRender() throws Exception {
+        byte[] png = png();
+        AtomicInteger opens = new AtomicInteger();
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(storage.open(anyString())).thenAnswer(invocation -> {
+            opens.incrementAndGet();
+            rendering.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return new ByteArrayInputStream(png);
+        });
+        Document doc = document("doc-1", "/uploads/hot/ab/cd/abcd_photo.png");
+
+        CompletableFuture<Optional<byte[]>> first = CompletableFuture.supplyAsync(() -> previewService.getPreview(doc, 128));
+        assertThat(rendering.await(10, TimeUnit.SECONDS)).isTrue();
+        Thread waiter = new Thread(() -> previewService.getPreview(doc, 128));
+        waiter.start();
+        // The second request is parked on the first one's render
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (waiter.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(waiter.getState()).isEqualTo(Thread.State.WAITING);
+
+        release.countDown();
+        waiter.join(10_000);
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).isPresent();
+        assertThat(opens).hasValue(1);
+    }
+
+    @Test
+    void previewKeyIsADigestOfTheStoredFile() {
+        Document doc = document("doc-1", "/uploads/hot/ab/cd/abcd_photo.png");
+        Document replaced = document("doc-1", "/uploads/hot/ef/01/ef01_photo.png");
+
+        String key = previewService.previewKey(doc, 128);
+
+        assertThat(key).matches("doc-1_[0-9a-f]{64}_128\\.jpg");
+        assertThat(previewService.previewKey(replaced, 128)).isNotEqualTo(key);
+        assertThat(previewService.previewKey(doc, 256)).isNotEqualTo(key);
+    }
+
+    private static Document document(String id, String filePath) {
+        Document doc = new Document();
+        doc.setId(id);
+        doc.setFilePath(filePath);
+        return doc;
+    }
+
+    private static byte[] png() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,119 @@
+package com.tili.backend.service;
+
+import com.tili.backend.event.MeetingScheduleEvent;
+import com.tili.backend.reminder.TimingWheel;
+import com.tili.backend.repository.MeetingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the service without its ticker thread: the test drains the wheel itself and hands the
+ * reminders that came due to {@code deliver}, as the dispatcher would.
+ */
+class MeetingReminderServiceTest {
+
+    private static final String MEETING = "meeting-1";
+
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final MeetingReminderService service = new MeetingReminderService();
+    private final LocalDateTime inTwoHours = LocalDateTime.now().plusHours(2).truncatedTo(ChronoUnit.SECONDS);
+    private TimingWheel<Object> wheel;
+
+    @BeforeEach
+    void wire() {
+        ReflectionTestUtils.setField(service, "meetingRepository", mock(MeetingRepository.class));
+        ReflectionTestUtils.setField(service, "notificationService", notificationService);
+        ReflectionTestUtils.setField(service, "offsetsMinutes", List.of(60L, 10L));
+        wheel = new TimingWheel<>(1000, 60, System.currentTimeMillis());
+        ReflectionTestUtils.setField(service, "wheel", wheel);
+    }
+
+    @Test
+    void reschedulingCancelsTheRemindersOfTheOldDate() {
+        LocalDateTime inThreeHours = inTwoHours.plusHours(1);
+        service.onMeetingSchedule(new MeetingScheduleEvent(MEETING, inTwoHours));
+        service.onMeetingSchedule(new MeetingScheduleEvent(MEETING, inThreeHours));
+
+        deliverAll(drain());
+
+        verify(notificationService).recordMeetingReminder(MEETING, inThreeHours, 60);
+        verify(notificationService).recordMeetingReminder(MEETING, inThreeHours, 10);
+        verify(notificationService, never()).recordMeetingReminder(eq(MEETING), eq(inTwoHours), eq(60L));
+        verify(notificationService, never()).recordMeetingReminder(eq(MEETING), eq(inTwoHours), eq(10L));
+    }
+
+    @Test
+    void anEventWithTheSameDateKeepsTheScheduledReminders() {
+        service.onMeetingSchedule(new MeetingScheduleEvent(MEETING, inTwoHours));
+        service.onMeetingSchedule(new MeetingScheduleEvent(MEETING, inTwoHours));
+
+        assertThat(service.getPendingCount()).isEqualTo(2);
+        assertThat(drain()).hasSize(2);
+    }
+
+    @Test
+    void aCancelledMeetingGetsNoReminders() {
+        service.onMeetingSchedule(new MeetingScheduleEvent(MEETING, inTwoHours));
+        service.onMeetingSchedule(new MeetingScheduleEvent(MEETING, null));
+
+        assertThat(scheduled()).doesNotContainKey(MEETING);
+        assertThat(drain()).isEmpty();
+    }
+
+    @Test
+    void theLastReminderEndsTheTrackingOfItsMeeting() {
+        service.onMeetingSchedule(new MeetingScheduleEvent(MEETING, inTwoHours));
+        List<Object> due = drain();
+        assertThat(due).hasSize(2);
+
+        deliver(due.get(0));
+        assertThat(scheduled()).containsKey(MEETING);
+        deliver(due.get(1));
+        assertThat(scheduled()).doesNotContainKey(MEETING);
+    }
+
+    @Test
+    void anEqualReminderOfAnEarlierScheduleDoesNotEndTracking() {
+        service.onMeetingSchedule(new MeetingScheduleEvent(MEETING, inTwoHours));
+        List<Object> stale = drain();
+
+        // Moved away and back: the new last reminder equals the stale one field by field
+        service.onMeetingSchedule(new MeetingScheduleEvent(MEETING, inTwoHours.plusHours(1)));
+        service.onMeetingSchedule(new MeetingScheduleEvent(MEETING, inTwoHours));
+        deliver(stale.get(1));
+
+        assertThat(scheduled()).containsKey(MEETING);
+        // Still tracked, so a later move can cancel what is pending
+        service.onMeetingSchedule(new MeetingScheduleEvent(MEETING, null));
+        assertThat(drain()).isEmpty();
+    }
+
+    private List<Object> drain() {
+        return wheel.advanceTo(System.currentTimeMillis() + 24 * 3600_000L);
+    }
+
+    private void deliverAll(List<Object> reminders) {
+        reminders.forEach(this::deliver);
+    }
+
+    private void deliver(Object reminder) {
+        ReflectionTestUtils.invokeMethod(service, "deliver", reminder);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, ?> scheduled() {
+        return (Map<String, ?>) ReflectionTestUtils.getField(service, "scheduled");
+    }
+}
@@ -0,0 +1,76 @@
+package com.tili.backend.service;
+
+import com.tili.backend.dto.MeetingDTO;
+import com.tili.backend.entity.Meeting;
+import com.tili.backend.entity.Project;
+import com.tili.backend.entity.User;
+import com.tili.backend.enums.ProjectStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Import({ MeetingService.class, ProjectStatsService.class })
+class MeetingServiceTest extends StatementCountingTest {
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Test
+    void getAllMeetingsRunsAFixedNumberOfStatements() {
+        seed(3);
+        // meetings, their projects (one batch), participants (one batch)
+        assertThat(countGetAllMeetings(3)).isEqualTo(3);
+
+        seed(BATCH_SIZE);
+        // 103 meetings: projects and participants each take a second batch
+        assertThat(countGetAllMeetings(BATCH_SIZE + 3)).isEqualTo(5);
+    }
+
+    @Test
+    void createMeetingRejectsUnknownParticipants() {
+        User user = persistUsers(1).get(0);
+        MeetingDTO dto = new MeetingDTO();
+        dto.setTitle("Meeting");
+        dto.setDate(LocalDateTime.now().plusDays(1));
+        dto.setParticipantIds(List.of(user.getId(), "no-such-user"));
+
+        assertThatThrownBy(() -> meetingService.createMeeting(dto)).hasMessage("User not found");
+    }
+
+    private long countGetAllMeetings(int expectedMeetings) {
+        return countStatements(() -> {
+            List<MeetingDTO> meetings = meetingService.getAllMeetings();
+
+            assertThat(meetings).hasSize(expectedMeetings);
+            assertThat(meetings).allSatisfy(meeting -> {
+                assertThat(meeting.getParticipants()).hasSize(2);
+                assertThat(meeting.getProjectName()).isNotNull();
+            });
+        });
+    }
+
+    private void seed(int count) {
+        List<User> users = persistUsers(4);
+        for (int i = 0; i < count; i++) {
+            // One project per meeting, so loading their projects is itself a batch
+            Project project = new Project();
+            project.setName("Project " + i);
+            project.setStatut(ProjectStatus.ACTIVE);
+            entityManager.persist(project);
+
+            Meeting meeting = new Meeting();
+            meeting.setSujet("Meeting " + i);
+            meeting.setDate(LocalDateTime.now().plusDays(i));
+            meeting.setProject(project);
+            meeting.setParticipants(new HashSet<>(List.of(users.get(i % 4), users.get((i + 1) % 4))));
+            entityManager.persist(meeting);
+        }
+    }
+}
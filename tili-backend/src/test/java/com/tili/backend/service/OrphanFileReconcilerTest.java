@@ -0,0 +1,166 @@
+package com.tili.backend.service;
+
+import com.tili.backend.dto.ReconciliationReportDTO;
+import com.tili.backend.repository.DocumentFileRef;
+import com.tili.backend.repository.DocumentRepository;
+import com.tili.backend.storage.DocumentStorage;
+import com.tili.backend.storage.StoredFile;
+import com.tili.backend.storage.StoredPathOrder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the merge with files and rows held in memory: the storage lists files in
+ * {@link StoredPathOrder} and the repository pages rows the way the keyset query does.
+ */
+class OrphanFileReconcilerTest {
+
+    private static final long OLD = System.currentTimeMillis() - 48 * 3600_000L;
+    private static final Comparator<DocumentFileRef> ROW_ORDER = Comparator
+            .comparing(DocumentFileRef::getFilePath, StoredPathOrder.INSTANCE)
+            .thenComparing(DocumentFileRef::getId);
+
+    private final DocumentRepository documentRepository = mock(DocumentRepository.class);
+    private final DocumentStorage storage = mock(DocumentStorage.class);
+    private final OrphanFileReconciler reconciler = new OrphanFileReconciler();
+
+    private final List<StoredFile> files = new ArrayList<>();
+    private final List<DocumentFileRef> rows = new ArrayList<>();
+    private final Set<String> deleted = new HashSet<>();
+
+    @BeforeEach
+    void wire() throws IOException {
+        ReflectionTestUtils.setField(reconciler, "documentRepository", documentRepository);
+        ReflectionTestUtils.setField(reconciler, "documentStorage", storage);
+        ReflectionTestUtils.setField(reconciler, "graceHours", 24L);
+        ReflectionTestUtils.setField(reconciler, "minMatchRatio", 0.5);
+
+        when(storage.listFiles()).thenAnswer(invocation -> files.stream()
+                .filter(file -> !deleted.contains(file.path()))
+                .sorted(Comparator.comparing(StoredFile::path, StoredPathOrder.INSTANCE))
+                .iterator());
+        when(storage.exists(anyString())).thenAnswer(invocation -> files.stream()
+                .anyMatch(file -> file.path().equals(invocation.getArgument(0)) && !deleted.contains(file.path())));
+        doAnswer(invocation -> deleted.add(invocation.getArgument(0))).when(storage).delete(anyString());
+        when(documentRepository.findFilePathsAfter(anyString(), anyString(), anyInt())).thenAnswer(invocation -> {
+            String afterPath = invocation.getArgument(0);
+            String afterId = invocation.getArgument(1);
+            int limit = invocation.getArgument(2);
+            return rows.stream()
+                    .sorted(ROW_ORDER)
+                    .filter(row -> {
+                        int cmp = StoredPathOrder.INSTANCE.compare(row.getFilePath(), afterPath);
+                        return cmp > 0 || cmp == 0 && row.getId().compareTo(afterId) > 0;
+                    })
+                    .limit(limit)
+                    .toList();
+        });
+    }
+
+    @Test
+    void mergesFilesAndRowsThatStringOrderWouldMisalign() {
+        // String.compareTo puts the emoji before the fullwidth tilde; the database puts it after
+        file("/u/hot/aa/～.pdf", OLD);
+        file("/u/hot/aa/😀.pdf", OLD);
+        file("/u/hot/aa/plain.pdf", OLD);
+        row("1", "/u/hot/aa/～.pdf");
+        row("2", "/u/hot/aa/😀.pdf");
+        row("3", "/u/hot/aa/plain.pdf");
+
+        ReconciliationReportDTO report = reconciler.reconcile();
+
+        assertThat(report.getMatchedRows()).isEqualTo(3);
+        assertThat(report.getOrphanFiles()).isZero();
+        assertThat(report.getDanglingRows()).isZero();
+        assertThat(deleted).isEmpty();
+    }
+
+    @Test
+    void deletesOldOrphansKeepsYoungOnesAndReportsDanglingRows() {
+        file("/u/hot/aa/kept.pdf", OLD);
+        file("/u/hot/aa/old-orphan.pdf", OLD);
+        file("/u/hot/aa/young-orphan.pdf", System.currentTimeMillis());
+        file("/u/hot/bb/shared.pdf", OLD);
+        row("1", "/u/hot/aa/kept.pdf");
+        row("2", "/u/hot/bb/shared.pdf");
+        row("3", "/u/hot/bb/shared.pdf");
+        row("4", "/u/hot/cc/missing.pdf");
+
+        ReconciliationReportDTO report = reconciler.reconcile();
+
+        assertThat(report.isAborted()).isFalse();
+        assertThat(report.getScannedFiles()).isEqualTo(4);
+        assertThat(report.getScannedRows()).isEqualTo(4);
+        assertThat(report.getMatchedRows()).isEqualTo(3);
+        assertThat(report.getOrphanFiles()).isEqualTo(2);
+        assertThat(report.getSkippedRecentFiles()).isEqualTo(1);
+        assertThat(deleted).containsExactly("/u/hot/aa/old-orphan.pdf");
+        assertThat(report.getDanglingDocumentIds()).containsExactly("4");
+    }
+
+    @Test
+    void orphanWhoseRowAppearedDuringTheScanIsKept() {
+        file("/u/hot/aa/kept.pdf", OLD);
+        file("/u/hot/aa/late.pdf", OLD);
+        row("1", "/u/hot/aa/kept.pdf");
+        when(documentRepository.existsByFilePath("/u/hot/aa/late.pdf")).thenReturn(true);
+
+        ReconciliationReportDTO report = reconciler.reconcile();
+
+        assertThat(report.getOrphanFiles()).isZero();
+        assertThat(deleted).isEmpty();
+    }
+
+    @Test
+    void abortsWithoutDeletingWhenAlmostNothingMatches() {
+        // The rows still point at the old mount point
+        for (int i = 0; i < 10; i++) {
+            file("/new/hot/aa/file" + i + ".pdf", OLD);
+            row(String.valueOf(i), "/old/hot/aa/file" + i + ".pdf");
+        }
+        file("/new/hot/aa/matched.pdf", OLD);
+        row("m", "/new/hot/aa/matched.pdf");
+
+        ReconciliationReportDTO report = reconciler.reconcile();
+
+        assertThat(report.isAborted()).isTrue();
+        assertThat(report.getAbortReason()).contains("1 of 11");
+        assertThat(report.getOrphanFiles()).isZero();
+        assertThat(deleted).isEmpty();
+        assertThat(reconciler.getLastReport()).isSameAs(report);
+    }
+
+    @Test
+    void abortsWhenThereAreFilesButNoRows() {
+        file("/u/hot/aa/a.pdf", OLD);
+
+        assertThat(reconciler.reconcile().isAborted()).isTrue();
+        assertThat(deleted).isEmpty();
+    }
+
+    private void file(String path, long lastModified) {
+        files.add(new StoredFile(path, 100, lastModified));
+    }
+
+    private void row(String id, String path) {
+        rows.add(new Row(id, path));
+    }
+
+    private record Row(String getId, String getFilePath) implements DocumentFileRef {
+    }
+}
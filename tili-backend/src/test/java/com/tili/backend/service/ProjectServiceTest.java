@@ -0,0 +1,63 @@
+package com.tili.backend.service;
+
+import com.tili.backend.dto.ProjectDTO;
+import com.tili.backend.entity.Project;
+import com.tili.backend.entity.User;
+import com.tili.backend.enums.ProjectStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Import({ ProjectService.class, ProjectStatsService.class })
+class ProjectServiceTest extends StatementCountingTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Test
+    void getAllProjectsRunsAFixedNumberOfStatements() {
+        seed(3);
+        // projects, members (one batch), stats
+        assertThat(countGetAllProjects(3)).isEqualTo(3);
+
+        seed(BATCH_SIZE);
+        // 103 projects: their members take a second batch, nothing else grows
+        assertThat(countGetAllProjects(BATCH_SIZE + 3)).isEqualTo(4);
+    }
+
+    @Test
+    void createProjectRejectsUnknownMembers() {
+        User user = persistUsers(1).get(0);
+        ProjectDTO dto = new ProjectDTO();
+        dto.setTitle("Project");
+        dto.setMemberIds(List.of(user.getId(), "no-such-user"));
+
+        assertThatThrownBy(() -> projectService.createProject(dto)).hasMessage("User not found");
+    }
+
+    private long countGetAllProjects(int expectedProjects) {
+        return countStatements(() -> {
+            List<ProjectDTO> projects = projectService.getAllProjects();
+
+            assertThat(projects).hasSize(expectedProjects);
+            assertThat(projects).allSatisfy(project -> assertThat(project.getTeam()).hasSize(2));
+        });
+    }
+
+    private void seed(int count) {
+        List<User> users = persistUsers(4);
+        for (int i = 0; i < count; i++) {
+            Project project = new Project();
+            project.setName("Project " + i);
+            project.setStatut(ProjectStatus.ACTIVE);
+            project.setMembers(new HashSet<>(List.of(users.get(i % 4), users.get((i + 1) % 4))));
+            entityManager.persist(project);
+        }
+    }
+}
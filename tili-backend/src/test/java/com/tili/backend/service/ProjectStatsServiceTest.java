@@ -0,0 +1,195 @@
+package com.tili.backend.service;
+
+import com.tili.backend.entity.AppSetting;
+import com.tili.backend.entity.Document;
+import com.tili.backend.entity.Meeting;
+import com.tili.backend.entity.Project;
+import com.tili.backend.entity.ProjectStats;
+import com.tili.backend.enums.DocumentType;
+import com.tili.backend.enums.ProjectStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import(ProjectStatsService.class)
+class ProjectStatsServiceTest {
+
+    @Autowired
+    private ProjectStatsService projectStatsService;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        project = new Project();
+        project.setName("Project");
+        project.setStatut(ProjectStatus.ACTIVE);
+        entityManager.persist(project);
+        projectStatsService.projectCreated(project);
+        setWatermark(now);
+    }
+
+    @Test
+    void documentAddedCountsByType() {
+        projectStatsService.documentAdded(project.getId(), DocumentType.RAPPORT);
+        projectStatsService.documentAdded(project.getId(), DocumentType.RAPPORT);
+        projectStatsService.documentAdded(project.getId(), DocumentType.PROJET);
+
+        ProjectStats stats = stats();
+        assertThat(stats.getRapportCount()).isEqualTo(2);
+        assertThat(stats.getProjetCount()).isEqualTo(1);
+        assertThat(stats.getCompteRenduCount()).isZero();
+        assertThat(stats.getLastActivityAt()).isNotNull();
+    }
+
+    @Test
+    void documentAddedCreatesMissingStatsRow() {
+        ProjectStats existing = entityManager.find(ProjectStats.class, project.getId());
+        entityManager.remove(existing);
+        entityManager.flush();
+
+        projectStatsService.documentAdded(project.getId(), DocumentType.ADMINISTRATIF);
+
+        assertThat(stats().getAdministratifCount()).isEqualTo(1);
+    }
+
+    @Test
+    void meetingsAreClassifiedAgainstThePersistedWatermark() {
+        // Past the wall clock but not yet rolled over, so still upcoming
+        setWatermark(now.minusHours(2));
+
+        projectStatsService.meetingAdded(project.getId(), now.minusHours(3));
+        projectStatsService.meetingAdded(project.getId(), now.minusHours(1));
+        projectStatsService.meetingAdded(project.getId(), now.plusDays(1));
+
+        ProjectStats stats = stats();
+        assertThat(stats.getMeetingsHeld()).isEqualTo(1);
+        assertThat(stats.getMeetingsUpcoming()).isEqualTo(2);
+    }
+
+    @Test
+    void meetingRemovedUndoesMeetingAdded() {
+        projectStatsService.meetingAdded(project.getId(), now.minusDays(1));
+        projectStatsService.meetingAdded(project.getId(), now.plusDays(1));
+
+        projectStatsService.meetingRemoved(project.getId(), now.minusDays(1));
+        projectStatsService.meetingRemoved(project.getId(), now.plusDays(1));
+        projectStatsService.meetingRemoved(project.getId(), now.plusDays(1));
+
+        ProjectStats stats = stats();
+        assertThat(stats.getMeetingsHeld()).isZero();
+        assertThat(stats.getMeetingsUpcoming()).isZero();
+    }
+
+    @Test
+    void rolloverCatchesUpFromThePersistedWatermark() {
+        // As if the last rollover, by this or another instance, ran before a day of downtime
+        setWatermark(now.minusDays(1));
+        persistMeeting(now.minusHours(20));
+        persistMeeting(now.minusHours(2));
+        persistMeeting(now.plusDays(1));
+        projectStatsService.meetingAdded(project.getId(), now.minusHours(20));
+        projectStatsService.meetingAdded(project.getId(), now.minusHours(2));
+        projectStatsService.meetingAdded(project.getId(), now.plusDays(1));
+        assertThat(stats().getMeetingsUpcoming()).isEqualTo(3);
+
+        projectStatsService.rollOverMeetings();
+
+        ProjectStats stats = stats();
+        assertThat(stats.getMeetingsHeld()).isEqualTo(2);
+        assertThat(stats.getMeetingsUpcoming()).isEqualTo(1);
+        assertThat(stats.getLastActivityAt()).isAfterOrEqualTo(now.minusHours(2));
+        assertThat(watermark()).isAfterOrEqualTo(now);
+
+        // Nothing new has started, so a second run, e.g. on another instance, changes nothing
+        projectStatsService.rollOverMeetings();
+        assertThat(stats().getMeetingsHeld()).isEqualTo(2);
+    }
+
+    @Test
+    void firstRolloverOnlyRecordsTheWatermark() {
+        entityManager.remove(entityManager.find(AppSetting.class, ProjectStatsService.ROLLOVER_WATERMARK));
+        entityManager.flush();
+
+        projectStatsService.rollOverMeetings();
+
+        assertThat(watermark()).isAfterOrEqualTo(now);
+    }
+
+    @Test
+    void rebuildCorrectsDriftAndCreatesMissingRows() {
+        persistDocument(DocumentType.COMPTE_RENDU);
+        persistDocument(DocumentType.COMPTE_RENDU);
+        persistMeeting(now.minusDays(2));
+        persistMeeting(now.plusDays(2));
+        ProjectStats drifted = stats();
+        drifted.setRapportCount(7);
+        drifted.setMeetingsUpcoming(5);
+
+        Project other = new Project();
+        other.setName("Without stats");
+        other.setStatut(ProjectStatus.ACTIVE);
+        entityManager.persist(other);
+        entityManager.flush();
+        entityManager.clear();
+
+        projectStatsService.rebuild();
+
+        ProjectStats stats = stats();
+        assertThat(stats.getRapportCount()).isZero();
+        assertThat(stats.getCompteRenduCount()).isEqualTo(2);
+        assertThat(stats.getMeetingsHeld()).isEqualTo(1);
+        assertThat(stats.getMeetingsUpcoming()).isEqualTo(1);
+        assertThat(entityManager.find(ProjectStats.class, other.getId())).isNotNull();
+    }
+
+    private ProjectStats stats() {
+        entityManager.flush();
+        entityManager.clear();
+        return entityManager.find(ProjectStats.class, project.getId());
+    }
+
+    private LocalDateTime watermark() {
+        entityManager.flush();
+        entityManager.clear();
+        return LocalDateTime.parse(entityManager.find(AppSetting.class, ProjectStatsService.ROLLOVER_WATERMARK).getValue());
+    }
+
+    private void setWatermark(LocalDateTime value) {
+        entityManager.getEntityManager().merge(new AppSetting(ProjectStatsService.ROLLOVER_WATERMARK, value.toString()));
+        entityManager.flush();
+    }
+
+    private void persistMeeting(LocalDateTime date) {
+        Meeting meeting = new Meeting();
+        meeting.setSujet("Meeting");
+        meeting.setDate(date);
+        meeting.setProject(project);
+        entityManager.persist(meeting);
+    }
+
+    private void persistDocument(DocumentType type) {
+        Document document = new Document();
+        document.setTitre("Document");
+        document.setDocumentType(type);
+        document.setFilePath("doc-" + System.nanoTime());
+        document.setCreatedAt(now);
+        document.setProject(project);
+        entityManager.persist(document);
+    }
+}
@@ -0,0 +1,62 @@
+package com.tili.backend.service;
+
+import com.tili.backend.entity.User;
+import com.tili.backend.enums.UserRole;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base for JPA slice tests that pin how many SQL statements a service call prepares, so an N+1
+ * regression shows up as a failing count rather than a slow page in production.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+abstract class StatementCountingTest {
+
+    // Matches @BatchSize on the lazy associations; seeding past it makes the batches visible
+    static final int BATCH_SIZE = 100;
+
+    @Autowired
+    protected TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /** Flushes and clears the persistence context, then counts the statements {@code action} prepares. */
+    protected long countStatements(Runnable action) {
+        return run(action).getPrepareStatementCount();
+    }
+
+    /** Flushes and clears the persistence context, runs {@code action} and returns what Hibernate recorded. */
+    protected Statistics run(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics;
+    }
+
+    protected List<User> persistUsers(int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setName("User " + i);
+            user.setEmail("user" + i + "-" + System.nanoTime() + "@tili.test");
+            user.setPassword("secret");
+            user.setRole(UserRole.CONSULTANT);
+            users.add(entityManager.persist(user));
+        }
+        return users;
+    }
+}
@@ -0,0 +1,65 @@
+package com.tili.backend.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreviewCacheTest {
+
+    private static final int ENTRY_SIZE = 400 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntryWhenTheDiskLimitIsExceeded() throws IOException {
+        // 1 MB on disk holds two entries; the memory tier is disabled so every read goes to disk
+        PreviewCache cache = cache();
+        cache.put("a.jpg", entry(1));
+        cache.put("b.jpg", entry(2));
+        assertThat(cache.get("a.jpg")).isEqualTo(entry(1));
+
+        cache.put("c.jpg", entry(3));
+
+        assertThat(cache.get("b.jpg")).isNull();
+        assertThat(directory.resolve("b.jpg")).doesNotExist();
+        assertThat(cache.get("a.jpg")).isEqualTo(entry(1));
+        assertThat(cache.get("c.jpg")).isEqualTo(entry(3));
+    }
+
+    @Test
+    void recencySurvivesARestartThroughModificationTimes() throws IOException {
+        PreviewCache cache = cache();
+        cache.put("a.jpg", entry(1));
+        cache.put("b.jpg", entry(2));
+        // "a" was read after "b" was written
+        long now = System.currentTimeMillis();
+        Files.setLastModifiedTime(directory.resolve("b.jpg"), FileTime.fromMillis(now - 60_000));
+        Files.setLastModifiedTime(directory.resolve("a.jpg"), FileTime.fromMillis(now));
+
+        PreviewCache restarted = cache();
+        restarted.put("c.jpg", entry(3));
+
+        assertThat(restarted.get("b.jpg")).isNull();
+        assertThat(restarted.get("a.jpg")).isEqualTo(entry(1));
+    }
+
+    private PreviewCache cache() throws IOException {
+        PreviewCache cache = new PreviewCache(directory.toString(), 1, 0);
+        cache.load();
+        return cache;
+    }
+
+    private static byte[] entry(int fill) {
+        byte[] data = new byte[ENTRY_SIZE];
+        Arrays.fill(data, (byte) fill);
+        return data;
+    }
+}
@@ -0,0 +1,43 @@
+package com.tili.backend.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SortedFileIteratorTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void yieldsFilesOfTheScannedTiersInStoredPathOrder() throws IOException {
+        // "a-b" and "a.txt" sort before the directory "a/" by full path, "a0" after it
+        List<String> expected = new ArrayList<>();
+        for (String name : List.of("hot/a/x", "hot/a/y/z", "hot/a-b", "hot/a.txt", "hot/a0", "hot/B", "cold/c")) {
+            expected.add(write(name).toString());
+        }
+        write("previews/ignored.jpg");
+        write("hot/a/partial.tmp");
+        expected.sort(StoredPathOrder.INSTANCE);
+
+        List<String> walked = new ArrayList<>();
+        new SortedFileIterator(root, Set.of("hot", "cold")).forEachRemaining(file -> walked.add(file.path()));
+
+        assertThat(walked).containsExactlyElementsOf(expected);
+    }
+
+    private Path write(String relative) throws IOException {
+        Path file = root.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, relative);
+        return file;
+    }
+}
@@ -0,0 +1,46 @@
+package com.tili.backend.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StoredPathOrderTest {
+
+    private final StoredPathOrder order = StoredPathOrder.INSTANCE;
+
+    @Test
+    void ordersByCodePointWhereUtf16Disagrees() {
+        // U+FF5E is a single UTF-16 unit above the surrogates that encode U+1F600
+        String fullwidthTilde = "/u/hot/～.txt";
+        String emoji = "/u/hot/😀.txt";
+        assertThat(fullwidthTilde.compareTo(emoji)).isPositive();
+
+        assertThat(order.compare(fullwidthTilde, emoji)).isNegative();
+        assertThat(order.compare(emoji, fullwidthTilde)).isPositive();
+    }
+
+    @Test
+    void comparesBytesUnsigned() {
+        assertThat(order.compare("/u/é", "/u/z")).isPositive();
+        assertThat(order.compare("/u/Z", "/u/a")).isNegative();
+    }
+
+    @Test
+    void padsTheShorterValueWithSpaces() {
+        assertThat(order.compare("/u/a", "/u/a  ")).isZero();
+        // A tab sorts below the implicit padding, anything above a space sorts after it
+        assertThat(order.compare("/u/a\t", "/u/a")).isNegative();
+        assertThat(order.compare("/u/a", "/u/a\t")).isPositive();
+        assertThat(order.compare("/u/a", "/u/a.txt")).isNegative();
+    }
+
+    @Test
+    void sortsAMixedListConsistently() {
+        List<String> paths = new ArrayList<>(List.of("/u/b", "/u/😀", "/u/～", "/u/a/x", "/u/a.txt", "/u/A"));
+        paths.sort(order);
+        assertThat(paths).containsExactly("/u/A", "/u/a.txt", "/u/a/x", "/u/b", "/u/～", "/u/😀");
+    }
+}
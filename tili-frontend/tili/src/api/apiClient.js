@@ -1,5 +1,7 @@
 import axios from 'axios';
 
+const CURRENT_USER_KEY = 'tili_user';
+
 const apiClient = axios.create({
     baseURL: 'http://localhost:8080/api',
     headers: {
@@ -7,4 +9,17 @@ const apiClient = axios.create({
     },
 });
 
+// Lets the backend keep this user's reads on the primary database right after they write
+apiClient.interceptors.request.use((config) => {
+    try {
+        const user = JSON.parse(localStorage.getItem(CURRENT_USER_KEY));
+        if (user?.id) {
+            config.headers['X-User-Id'] = user.id;
+        }
+    } catch {
+        // No session or unreadable session: the backend falls back to the client address
+    }
+    return config;
+});
+
 export default apiClient;
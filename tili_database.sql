@@ -23,6 +23,17 @@ SET time_zone = "+00:00";
 
 -- --------------------------------------------------------
 
+--
+-- Table structure for table `app_setting`
+--
+
+CREATE TABLE `app_setting` (
+  `name` varchar(100) NOT NULL,
+  `settingValue` varchar(255) DEFAULT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
 --
 -- Table structure for table `compterendu`
 --
@@ -30,6 +41,8 @@ SET time_zone = "+00:00";
 CREATE TABLE `compterendu` (
   `id` varchar(50) NOT NULL,
   `content` varchar(5000) NOT NULL,
+  `contentGz` longblob DEFAULT NULL,
+  `contentLength` int(11) DEFAULT NULL,
   `createAt` date NOT NULL,
   `idMeeting` varchar(50) NOT NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
@@ -43,8 +56,9 @@ CREATE TABLE `compterendu` (
 CREATE TABLE `document` (
   `id` varchar(50) NOT NULL,
   `titre` varchar(50) NOT NULL,
-  `filePath` varchar(100) NOT NULL,
+  `filePath` varchar(512) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
   `ceatedAt` datetime NOT NULL,
+  `lastAccessedAt` datetime DEFAULT NULL,
   `documentType` enum('rapport','compte_rendu','administratif','projet') NOT NULL,
   `idUser` varchar(50) NOT NULL,
   `idProjet` varchar(50) NOT NULL
@@ -66,6 +80,32 @@ CREATE TABLE `meeting` (
 
 -- --------------------------------------------------------
 
+--
+-- Table structure for table `meeting_participant`
+--
+
+CREATE TABLE `meeting_participant` (
+  `idMeeting` varchar(50) NOT NULL,
+  `idUser` varchar(50) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
+--
+-- Table structure for table `notification`
+--
+
+CREATE TABLE `notification` (
+  `id` varchar(50) NOT NULL,
+  `idUser` varchar(50) NOT NULL,
+  `idMeeting` varchar(50) DEFAULT NULL,
+  `message` varchar(1000) NOT NULL,
+  `createdAt` datetime NOT NULL,
+  `readAt` datetime DEFAULT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
 --
 -- Table structure for table `project`
 --
@@ -80,6 +120,55 @@ CREATE TABLE `project` (
 
 -- --------------------------------------------------------
 
+--
+-- Table structure for table `project_member`
+--
+
+CREATE TABLE `project_member` (
+  `idProjet` varchar(50) NOT NULL,
+  `idUser` varchar(50) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
+--
+-- Table structure for table `project_stats`
+--
+
+CREATE TABLE `project_stats` (
+  `idProjet` varchar(50) NOT NULL,
+  `rapportCount` bigint(20) NOT NULL DEFAULT 0,
+  `compteRenduCount` bigint(20) NOT NULL DEFAULT 0,
+  `administratifCount` bigint(20) NOT NULL DEFAULT 0,
+  `projetCount` bigint(20) NOT NULL DEFAULT 0,
+  `meetingsHeld` bigint(20) NOT NULL DEFAULT 0,
+  `meetingsUpcoming` bigint(20) NOT NULL DEFAULT 0,
+  `lastActivityAt` datetime DEFAULT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
+--
+-- Table structure for table `upload_session`
+--
+
+CREATE TABLE `upload_session` (
+  `id` varchar(50) NOT NULL,
+  `fileName` varchar(255) NOT NULL,
+  `titre` varchar(255) DEFAULT NULL,
+  `documentType` enum('rapport','compte_rendu','administratif','projet') DEFAULT NULL,
+  `idUser` varchar(50) NOT NULL,
+  `idProjet` varchar(50) DEFAULT NULL,
+  `totalSize` bigint(20) NOT NULL,
+  `chunkSize` int(11) NOT NULL,
+  `receivedChunks` blob DEFAULT NULL,
+  `completed` tinyint(1) NOT NULL DEFAULT 0,
+  `createdAt` datetime DEFAULT NULL,
+  `expiresAt` datetime NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
 --
 -- Table structure for table `user`
 --
@@ -96,6 +185,12 @@ CREATE TABLE `user` (
 -- Indexes for dumped tables
 --
 
+--
+-- Indexes for table `app_setting`
+--
+ALTER TABLE `app_setting`
+  ADD PRIMARY KEY (`name`);
+
 --
 -- Indexes for table `compterendu`
 --
@@ -109,14 +204,30 @@ ALTER TABLE `compterendu`
 ALTER TABLE `document`
   ADD PRIMARY KEY (`id`),
   ADD KEY `idUser` (`idUser`),
-  ADD KEY `idProjet` (`idProjet`);
+  ADD KEY `idProjet` (`idProjet`),
+  ADD KEY `idx_document_filePath` (`filePath`);
 
 --
 -- Indexes for table `meeting`
 --
 ALTER TABLE `meeting`
   ADD PRIMARY KEY (`id`),
-  ADD KEY `idProjet` (`idProjet`);
+  ADD KEY `idProjet` (`idProjet`),
+  ADD KEY `idx_meeting_date` (`date`);
+
+--
+-- Indexes for table `meeting_participant`
+--
+ALTER TABLE `meeting_participant`
+  ADD PRIMARY KEY (`idMeeting`,`idUser`),
+  ADD KEY `idx_meeting_participant_user` (`idUser`);
+
+--
+-- Indexes for table `notification`
+--
+ALTER TABLE `notification`
+  ADD PRIMARY KEY (`id`),
+  ADD KEY `idx_notification_user_created` (`idUser`,`createdAt`);
 
 --
 -- Indexes for table `project`
@@ -124,6 +235,26 @@ ALTER TABLE `meeting`
 ALTER TABLE `project`
   ADD PRIMARY KEY (`id`);
 
+--
+-- Indexes for table `project_member`
+--
+ALTER TABLE `project_member`
+  ADD PRIMARY KEY (`idProjet`,`idUser`),
+  ADD KEY `idx_project_member_user` (`idUser`);
+
+--
+-- Indexes for table `project_stats`
+--
+ALTER TABLE `project_stats`
+  ADD PRIMARY KEY (`idProjet`);
+
+--
+-- Indexes for table `upload_session`
+--
+ALTER TABLE `upload_session`
+  ADD PRIMARY KEY (`id`),
+  ADD KEY `idx_upload_session_expires` (`expiresAt`);
+
 --
 -- Indexes for table `user`
 --
@@ -152,6 +283,26 @@ ALTER TABLE `document`
 --
 ALTER TABLE `meeting`
   ADD CONSTRAINT `meeting_ibfk_1` FOREIGN KEY (`idProjet`) REFERENCES `project` (`id`) ON DELETE CASCADE ON UPDATE CASCADE;
+
+--
+-- Constraints for table `meeting_participant`
+--
+ALTER TABLE `meeting_participant`
+  ADD CONSTRAINT `meeting_participant_ibfk_1` FOREIGN KEY (`idMeeting`) REFERENCES `meeting` (`id`) ON DELETE CASCADE ON UPDATE CASCADE,
+  ADD CONSTRAINT `meeting_participant_ibfk_2` FOREIGN KEY (`idUser`) REFERENCES `user` (`id`) ON DELETE CASCADE ON UPDATE CASCADE;
+
+--
+-- Constraints for table `project_stats`
+--
+ALTER TABLE `project_stats`
+  ADD CONSTRAINT `project_stats_ibfk_1` FOREIGN KEY (`idProjet`) REFERENCES `project` (`id`) ON DELETE CASCADE ON UPDATE CASCADE;
+
+--
+-- Constraints for table `project_member`
+--
+ALTER TABLE `project_member`
+  ADD CONSTRAINT `project_member_ibfk_1` FOREIGN KEY (`idProjet`) REFERENCES `project` (`id`) ON DELETE CASCADE ON UPDATE CASCADE,
+  ADD CONSTRAINT `project_member_ibfk_2` FOREIGN KEY (`idUser`) REFERENCES `user` (`id`) ON DELETE CASCADE ON UPDATE CASCADE;
 COMMIT;
 
 /*!40101 SET CHARACTER_SET_CLIENT=@OLD_CHARACTER_SET_CLIENT */;